@@ -0,0 +1,20 @@
+package com.vcasino.tests.cleanup;
+
+import com.vcasino.tests.common.config.DbConfig;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PurgeTarget {
+
+    private final DbConfig dbConfig;
+    private final String table;
+    // Column holding the user id, the same id is used as account and wallet id by the services
+    private final String userIdColumn;
+
+    public String getName() {
+        String url = dbConfig.getUrl();
+        return url.substring(url.lastIndexOf('/') + 1) + "." + table;
+    }
+}
@@ -0,0 +1,11 @@
+package com.vcasino.tests.cleanup;
+
+import org.testng.annotations.Test;
+
+public class PurgeTest {
+
+    @Test(groups = "purge", description = "Delete it_user_/it_admin_ users and their rows in all service databases")
+    void purgeTestData() throws Exception {
+        new TestDataPurge().purge();
+    }
+}
@@ -0,0 +1,193 @@
+package com.vcasino.tests.cleanup;
+
+import com.vcasino.tests.common.GenericTest;
+import com.vcasino.tests.common.Service;
+import com.vcasino.tests.common.config.DbConfig;
+import com.vcasino.tests.common.db.DataSourceRegistry;
+import com.vcasino.tests.seed.DataSeeder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public final class TestDataPurge extends GenericTest {
+
+    private static final int BATCH_SIZE = Integer.getInteger("vcasino.purge.batchSize", 1000);
+    // Share of wall time spent deleting, the rest is slept so live traffic keeps its share of IO and locks
+    private static final double DUTY_CYCLE = Double.parseDouble(System.getProperty("vcasino.purge.dutyCycle", "0.5"));
+    private static final boolean VACUUM = Boolean.parseBoolean(System.getProperty("vcasino.purge.vacuum", "true"));
+
+    // Seeded baseline users also start with it_user_, they belong to the snapshot and are kept
+    private static final String SEEDED_USERS = DataSeeder.USERNAME_PREFIX.replace("_", "\\_") + "%";
+
+    private static final String FIND_USERS = """
+            SELECT u.id FROM my_user u
+            WHERE (u.username LIKE 'it\\_user\\_%' OR u.username LIKE 'it\\_admin\\_%')
+              AND u.username NOT LIKE ? AND u.id > ?
+            ORDER BY u.id
+            LIMIT ?
+            """;
+
+    private final DbConfig userDb;
+    private final List<PurgeTarget> targets = new ArrayList<>();
+    private final Map<String, Long> deleted = new LinkedHashMap<>();
+
+    public TestDataPurge() {
+        // 0 would never sleep its way out of a batch, above 1 would compute a negative pause
+        if (!(DUTY_CYCLE > 0 && DUTY_CYCLE <= 1)) {
+            throw new IllegalArgumentException("vcasino.purge.dutyCycle must be in (0, 1], got " + DUTY_CYCLE);
+        }
+        init(Service.USER);
+        userDb = config.getDbConfig();
+
+        // Children before parents inside each database
+        DbConfig clickerDb = getServiceConfig(Service.CLICKER).getDbConfig();
+        targets.add(new PurgeTarget(clickerDb, "account_upgrade", "account_id"));
+        targets.add(new PurgeTarget(clickerDb, "streak", "account_id"));
+        targets.add(new PurgeTarget(clickerDb, "account", "id"));
+
+        DbConfig walletDb = getServiceConfig(Service.WALLET).getDbConfig();
+        targets.add(new PurgeTarget(walletDb, "outbox_event", "aggregate_id"));
+        targets.add(new PurgeTarget(walletDb, "wallet", "id"));
+
+        // Bet tables are not referenced anywhere in the harness, they are listed as table.column pairs
+        DbConfig betDb = getServiceConfig(Service.BET).getDbConfig();
+        for (String target : System.getProperty("vcasino.purge.betTables", "").split(",")) {
+            if (target.isBlank()) {
+                continue;
+            }
+            String[] parts = target.trim().split("\\.");
+            targets.add(new PurgeTarget(betDb, parts[0], parts[1]));
+        }
+
+        targets.add(new PurgeTarget(userDb, "token", "user_id"));
+        targets.add(new PurgeTarget(userDb, "my_user", "id"));
+    }
+
+    public Map<String, Long> purge() throws Exception {
+        Map<String, long[]> statsBefore = relationStats();
+
+        long start = System.nanoTime();
+        long lastId = 0;
+        long users = 0;
+        List<Long> ids;
+        while (!(ids = findUsers(lastId)).isEmpty()) {
+            long batchStart = System.nanoTime();
+            deleteBatch(ids);
+            users += ids.size();
+            lastId = ids.getLast();
+
+            long batchNanos = System.nanoTime() - batchStart;
+            long pauseMs = (long) (batchNanos / DUTY_CYCLE - batchNanos) / 1_000_000;
+            if (pauseMs > 0) {
+                sleep(pauseMs);
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long rows = deleted.values().stream().mapToLong(Long::longValue).sum();
+        log.info("Purged {} test users, {} rows in {} s ({} rows/s)", users, rows,
+                "%.1f".formatted(seconds), "%.0f".formatted(rows / Math.max(seconds, 0.001)));
+
+        Map<String, long[]> statsDeleted = relationStats();
+        if (VACUUM) {
+            vacuum();
+        }
+        logReport(statsBefore, statsDeleted, relationStats());
+
+        return deleted;
+    }
+
+    private List<Long> findUsers(long afterId) throws SQLException {
+        List<Long> ids = new ArrayList<>(BATCH_SIZE);
+        try (Connection connection = DataSourceRegistry.get(userDb).getConnection();
+             PreparedStatement statement = connection.prepareStatement(FIND_USERS)) {
+            statement.setString(1, SEEDED_USERS);
+            statement.setLong(2, afterId);
+            statement.setInt(3, BATCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void deleteBatch(List<Long> ids) throws SQLException {
+        // Non-test users invited by a test user keep their account
+        update(userDb, "UPDATE my_user SET invited_by = NULL WHERE invited_by = ANY(?)", ids);
+
+        for (PurgeTarget target : targets) {
+            String query = "DELETE FROM %s WHERE %s = ANY(?)".formatted(target.getTable(), target.getUserIdColumn());
+            deleted.merge(target.getName(), (long) update(target.getDbConfig(), query, ids), Long::sum);
+        }
+    }
+
+    private int update(DbConfig dbConfig, String query, List<Long> ids) throws SQLException {
+        try (Connection connection = DataSourceRegistry.get(dbConfig).getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            Array array = connection.createArrayOf("bigint", ids.toArray());
+            statement.setArray(1, array);
+            return statement.executeUpdate();
+        }
+    }
+
+    private void vacuum() throws SQLException {
+        for (PurgeTarget target : targets) {
+            try (Connection connection = DataSourceRegistry.get(target.getDbConfig()).getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("VACUUM (ANALYZE) " + target.getTable());
+            }
+        }
+    }
+
+    // Size and dead tuples per table, n_dead_tup comes from the statistics collector and lags slightly behind
+    private Map<String, long[]> relationStats() throws SQLException {
+        String query = """
+                SELECT pg_total_relation_size(c.oid) AS size, COALESCE(s.n_dead_tup, 0) AS dead
+                FROM pg_class c LEFT JOIN pg_stat_user_tables s ON s.relid = c.oid
+                WHERE c.oid = to_regclass(?)
+                """;
+        Map<String, long[]> stats = new LinkedHashMap<>();
+        for (PurgeTarget target : targets) {
+            try (Connection connection = DataSourceRegistry.get(target.getDbConfig()).getConnection();
+                 PreparedStatement statement = connection.prepareStatement(query)) {
+                statement.setString(1, target.getTable());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    stats.put(target.getName(), resultSet.next()
+                            ? new long[]{resultSet.getLong("size"), resultSet.getLong("dead")}
+                            : new long[]{0, 0});
+                }
+            }
+        }
+        return stats;
+    }
+
+    // Plain VACUUM turns dead tuples into reusable space without shrinking files, so both are reported
+    private void logReport(Map<String, long[]> before, Map<String, long[]> deletedStats, Map<String, long[]> after) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-36s %10s %12s %12s %12s %12s%n",
+                "Table", "Deleted", "Size before", "Size after", "Dead tuples", "Reclaimed"));
+        for (PurgeTarget target : targets) {
+            String name = target.getName();
+            long dead = deletedStats.get(name)[1];
+            report.append(String.format("%-36s %10d %12s %12s %12d %12d%n", name, deleted.getOrDefault(name, 0L),
+                    kb(before.get(name)[0]), kb(after.get(name)[0]), dead, Math.max(0, dead - after.get(name)[1])));
+        }
+        log.info("Purge report:\n{}", report);
+    }
+
+    private static String kb(long bytes) {
+        return (bytes / 1024) + " KiB";
+    }
+}
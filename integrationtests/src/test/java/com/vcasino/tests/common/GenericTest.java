@@ -7,25 +7,37 @@ import com.google.gson.JsonParser;
 import com.google.gson.internal.LinkedTreeMap;
 import com.google.gson.reflect.TypeToken;
 import com.vcasino.tests.common.config.DbConfig;
+import com.vcasino.tests.common.config.HttpConfig;
 import com.vcasino.tests.common.config.RedisConfig;
 import com.vcasino.tests.common.config.ServiceConfig;
+import com.vcasino.tests.common.db.DataSourceRegistry;
+import com.vcasino.tests.common.db.RowCursor;
+import com.vcasino.tests.common.http.ConnectionMode;
+import com.vcasino.tests.common.http.HttpClientRegistry;
+import com.vcasino.tests.common.http.JsonBody;
+import com.vcasino.tests.common.http.JsonBodyHandler;
+import com.vcasino.tests.common.http.MeteredBodyHandler;
+import com.vcasino.tests.common.http.MultipartBodyPublisher;
+import com.vcasino.tests.common.logging.BodyLogging;
+import com.vcasino.tests.common.metrics.EndpointLatencies;
+import com.vcasino.tests.common.metrics.EndpointTemplate;
+import com.vcasino.tests.common.redis.RedisCacheInvalidator;
+import com.vcasino.tests.common.redis.RedisRegistry;
 import com.vcasino.tests.model.AuthenticationResponse;
 import com.vcasino.tests.model.EmailTokenOptions;
 import com.vcasino.tests.model.Response;
+import com.vcasino.tests.model.ResultTable;
 import com.vcasino.tests.model.Row;
 import com.vcasino.tests.model.User;
 import com.vcasino.tests.model.email.Address;
 import com.vcasino.tests.model.email.Email;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.RedisConnection;
-import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
-import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
-import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
-import org.springframework.data.redis.core.RedisTemplate;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
@@ -37,20 +49,25 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
@@ -58,6 +75,10 @@ import static org.testng.Assert.assertNotNull;
 @Slf4j
 public abstract class GenericTest {
 
+    private static final Map<Service, ServiceConfig> SERVICE_CONFIGS = new ConcurrentHashMap<>();
+    protected static final int FETCH_SIZE = Integer.getInteger("vcasino.db.fetchSize", 1000);
+    private static final int BATCH_SIZE = Integer.getInteger("vcasino.db.batchSize", 500);
+
     protected Service service;
     protected ServiceConfig config;
     protected Gson gson = new Gson();
@@ -72,13 +93,42 @@ public abstract class GenericTest {
 
         this.service = service;
         auth = null;
-        config = loadServiceConfig(service);
+        config = getServiceConfig(service);
 
         TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
     }
 
-    private ServiceConfig loadServiceConfig(Service service) {
-        InputStream inputStream = getClass().getClassLoader().getResourceAsStream("configuration.json");
+    protected ServiceConfig getServiceConfig(Service service) {
+        return serviceConfig(service);
+    }
+
+    static ServiceConfig serviceConfig(Service service) {
+        return SERVICE_CONFIGS.computeIfAbsent(service, GenericTest::loadServiceConfig);
+    }
+
+    // Main and additional databases of every service, one entry per distinct database
+    public static List<DbConfig> allDbConfigs() {
+        Map<String, DbConfig> dbConfigs = new LinkedHashMap<>();
+        for (Service service : Service.values()) {
+            ServiceConfig serviceConfig = serviceConfig(service);
+            dbConfigs.putIfAbsent(serviceConfig.getDbConfig().getUrl(), serviceConfig.getDbConfig());
+            serviceConfig.getAdditionalDbConfigs().values()
+                    .forEach(dbConfig -> dbConfigs.putIfAbsent(dbConfig.getUrl(), dbConfig));
+        }
+        return List.copyOf(dbConfigs.values());
+    }
+
+    public static List<RedisConfig> allRedisConfigs() {
+        return Arrays.stream(Service.values())
+                .map(service -> serviceConfig(service).getRedisConfig())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    private static ServiceConfig loadServiceConfig(Service service) {
+        Gson gson = new Gson();
+        InputStream inputStream = GenericTest.class.getClassLoader().getResourceAsStream("configuration.json");
         if (inputStream == null) {
             throw new RuntimeException("Configuration file not found");
         }
@@ -102,10 +152,24 @@ public abstract class GenericTest {
         serviceConfig.setDbConfig(dbConfig);
         serviceConfig.setAdditionalDbConfigs(additionalDbConfigs);
         serviceConfig.setRedisConfig(redisConfig);
+        serviceConfig.setHttpConfig(loadHttpConfig());
 
         return serviceConfig;
     }
 
+    private static HttpConfig loadHttpConfig() {
+        return HttpConfig.builder()
+                .connectionMode(ConnectionMode.valueOf(System.getProperty("vcasino.http.connectionMode", "REUSED")))
+                .version(HttpClient.Version.valueOf(System.getProperty("vcasino.http.version", "HTTP_2")))
+                .executor(System.getProperty("vcasino.http.executor", "default"))
+                .executorThreads(Integer.getInteger("vcasino.http.executorThreads", 16))
+                .connectTimeoutMs(Integer.getInteger("vcasino.http.connectTimeoutMs", 5000))
+                .poolSize(Integer.getInteger("vcasino.http.poolSize", 0))
+                .keepAliveSec(Integer.getInteger("vcasino.http.keepAliveSec", 30))
+                .compression(Boolean.getBoolean("vcasino.http.compression"))
+                .build();
+    }
+
     protected String performHttpGet(String endpoint) throws Exception {
         return performHttpGet(endpoint, null);
     }
@@ -115,13 +179,26 @@ public abstract class GenericTest {
     }
 
     protected String performHttpGet(String endpoint, Map<String, String> attrs, int expectedCode) throws Exception {
-        String url = buildUrl(endpoint);
-        log.info("GET Request to {}: ", url);
+        HttpRequest request = buildGetRequest(buildUrl(endpoint), attrs);
+        return performHttp(request, null, expectedCode);
+    }
 
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpRequest request = buildGetRequest(url, attrs);
-            return performHttp(client, request, expectedCode);
-        }
+    protected <T> T performHttpGet(String endpoint, Map<String, String> attrs, Class<T> clazz) throws Exception {
+        return performHttpGet(endpoint, attrs, 200, clazz);
+    }
+
+    protected <T> T performHttpGet(String endpoint, Map<String, String> attrs, int expectedCode, Type type) throws Exception {
+        HttpRequest request = buildGetRequest(buildUrl(endpoint), attrs);
+        return performHttp(request, null, expectedCode, type);
+    }
+
+    protected <T> T performHttpPost(String endpoint, String body, Map<String, String> attrs, Class<T> clazz) throws Exception {
+        return performHttpPost(endpoint, body, attrs, 200, clazz);
+    }
+
+    protected <T> T performHttpPost(String endpoint, String body, Map<String, String> attrs, int expectedCode, Type type) throws Exception {
+        HttpRequest request = buildPostRequest(buildUrl(endpoint), body, attrs);
+        return performHttp(request, body, expectedCode, type);
     }
 
     protected String performHttpPost(String endpoint, Object body, Map<String, String> attrs) throws Exception {
@@ -137,13 +214,46 @@ public abstract class GenericTest {
     }
 
     protected String performHttpPost(String endpoint, String body, Map<String, String> attrs, int expectedCode) throws Exception {
-        String url = buildUrl(endpoint);
-        log.info("POST Request to {}: ", url);
+        HttpRequest request = buildPostRequest(buildUrl(endpoint), body, attrs);
+        return performHttp(request, body, expectedCode);
+    }
 
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpRequest request = buildPostRequest(url, body, attrs);
-            return performHttp(client, request, expectedCode);
-        }
+    protected String performHttpMultipart(String endpoint, MultipartBodyPublisher body, Map<String, String> attrs, int expectedCode) throws Exception {
+        HttpRequest request = buildMultipartRequest(buildUrl(endpoint), body, attrs);
+        return performHttp(request, body.toString(), expectedCode);
+    }
+
+    protected CompletableFuture<String> performHttpMultipartAsync(String endpoint, MultipartBodyPublisher body, Map<String, String> attrs, int expectedCode) {
+        HttpRequest request = buildMultipartRequest(buildUrl(endpoint), body, attrs);
+        return performHttpAsync(request, body.toString(), expectedCode);
+    }
+
+    protected String performHttpDelete(String endpoint, Map<String, String> attrs, int expectedCode) throws Exception {
+        HttpRequest request = buildDeleteRequest(buildUrl(endpoint), attrs);
+        return performHttp(request, null, expectedCode);
+    }
+
+    protected CompletableFuture<String> performHttpGetAsync(String endpoint, Map<String, String> attrs) {
+        return performHttpGetAsync(endpoint, attrs, 200);
+    }
+
+    protected CompletableFuture<String> performHttpGetAsync(String endpoint, Map<String, String> attrs, int expectedCode) {
+        HttpRequest request = buildGetRequest(buildUrl(endpoint), attrs);
+        return performHttpAsync(request, null, expectedCode);
+    }
+
+    protected CompletableFuture<String> performHttpPostAsync(String endpoint, String body, Map<String, String> attrs) {
+        return performHttpPostAsync(endpoint, body, attrs, 200);
+    }
+
+    protected CompletableFuture<String> performHttpPostAsync(String endpoint, String body, Map<String, String> attrs, int expectedCode) {
+        HttpRequest request = buildPostRequest(buildUrl(endpoint), body, attrs);
+        return performHttpAsync(request, body, expectedCode);
+    }
+
+    protected <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        return futures.stream().map(CompletableFuture::join).toList();
     }
 
     private HttpRequest buildGetRequest(String url, Map<String, String> attrs) {
@@ -153,9 +263,15 @@ public abstract class GenericTest {
         return requestBuilder.build();
     }
 
-    private HttpRequest buildPostRequest(String url, String body, Map<String, String> attrs) {
-        log.info("Use body:\n{}", body);
+    private HttpRequest buildDeleteRequest(String url, Map<String, String> attrs) {
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .DELETE();
+        setHeaders(requestBuilder, attrs);
+        return requestBuilder.build();
+    }
 
+    private HttpRequest buildPostRequest(String url, String body, Map<String, String> attrs) {
         HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
                 .uri(URI.create(url))
                 .POST(body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
@@ -164,7 +280,22 @@ public abstract class GenericTest {
         return requestBuilder.build();
     }
 
+    private HttpRequest buildMultipartRequest(String url, MultipartBodyPublisher body, Map<String, String> attrs) {
+        Map<String, String> headers = attrs == null ? new HashMap<>() : new HashMap<>(attrs);
+        headers.put("Content-Type", body.getContentType());
+
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .POST(body.build());
+        setHeaders(requestBuilder, headers);
+
+        return requestBuilder.build();
+    }
+
     private void setHeaders(HttpRequest.Builder requestBuilder, Map<String, String> attrs) {
+        if (config.getHttpConfig().getCompression()) {
+            requestBuilder.header("Accept-Encoding", "gzip, deflate");
+        }
         if (attrs != null) {
             attrs.forEach(requestBuilder::header);
         }
@@ -206,20 +337,72 @@ public abstract class GenericTest {
         attrs.put("Cookie", String.join("; ", cookieValues));
     }
 
-    private String performHttp(HttpClient client, HttpRequest request) throws Exception {
-        return performHttp(client, request, 200);
+    private String performHttp(HttpRequest request, String requestBody, int expectedCode) throws Exception {
+        String endpoint = EndpointTemplate.of(request.method(), request.uri());
+        boolean logBodies = logRequest(request, endpoint, requestBody);
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = HttpClientRegistry.send(config, request,
+                new MeteredBodyHandler<>(endpoint, HttpResponse.BodyHandlers.ofString()));
+        EndpointLatencies.record(endpoint, System.nanoTime() - start);
+
+        return checkResponse(request, response.statusCode(), response.body(), expectedCode, logBodies);
     }
 
-    private String performHttp(HttpClient client, HttpRequest request, int expectedCode) throws Exception {
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    private <T> T performHttp(HttpRequest request, String requestBody, int expectedCode, Type type) throws Exception {
+        String endpoint = EndpointTemplate.of(request.method(), request.uri());
+        boolean logBodies = logRequest(request, endpoint, requestBody);
+
+        long start = System.nanoTime();
+        HttpResponse<JsonBody<T>> response = HttpClientRegistry.send(config, request,
+                new MeteredBodyHandler<>(endpoint, new JsonBodyHandler<>(gson, type, expectedCode, logBodies)));
+        EndpointLatencies.record(endpoint, System.nanoTime() - start);
 
-        String body = response.body();
+        JsonBody<T> body = response.body();
+        if (body.getRaw() != null) {
+            checkResponse(request, response.statusCode(), body.getRaw(), expectedCode, logBodies);
+        }
+
+        return body.getValue().get();
+    }
 
-        assertEquals(response.statusCode(),
+    private CompletableFuture<String> performHttpAsync(HttpRequest request, String requestBody, int expectedCode) {
+        String endpoint = EndpointTemplate.of(request.method(), request.uri());
+        boolean logBodies = logRequest(request, endpoint, requestBody);
+
+        long start = System.nanoTime();
+        return HttpClientRegistry.sendAsync(config, request,
+                        new MeteredBodyHandler<>(endpoint, HttpResponse.BodyHandlers.ofString()))
+                .thenApply(response -> {
+                    EndpointLatencies.record(endpoint, System.nanoTime() - start);
+                    return checkResponse(request, response.statusCode(), response.body(), expectedCode, logBodies);
+                });
+    }
+
+    private boolean logRequest(HttpRequest request, String endpoint, String requestBody) {
+        boolean sampled = BodyLogging.sample(endpoint);
+        if (sampled) {
+            log.info("{} Request to {}: ", request.method(), request.uri());
+            if (requestBody != null) {
+                log.info("Use body:\n{}", BodyLogging.truncate(requestBody));
+            }
+        }
+        return sampled;
+    }
+
+    private String checkResponse(HttpRequest request, int statusCode, String body, int expectedCode, boolean logBodies) {
+        if (statusCode != expectedCode) {
+            log.error("{} {} finished with status code {}, expected {}\nMessage: {}",
+                    request.method(), request.uri(), statusCode, expectedCode, body);
+        }
+
+        assertEquals(statusCode,
                 expectedCode,
-                "Request finished with status code " + response.statusCode() + "\nMessage: " + body);
+                "Request finished with status code " + statusCode + "\nMessage: " + body);
 
-        log.info("Response {}: {}", response.statusCode(), body);
+        if (logBodies) {
+            log.info("Response {}: {}", statusCode, BodyLogging.truncate(body));
+        }
 
         return body;
     }
@@ -269,9 +452,9 @@ public abstract class GenericTest {
                  """
                  SELECT t.token FROM token t
                  JOIN my_user u on t.user_id = u.id
-                 WHERE u.username = '%s'
-                 """.formatted(username);
-        List<Row> rows = executeQuery(query, config.getAdditionalDbConfigs().get("user"));
+                 WHERE u.username = ?
+                 """;
+        List<Row> rows = executeQueryIn("user", query, username);
         assertEquals(rows.size(), 1);
 
         return rows.getFirst().get("token");
@@ -443,12 +626,16 @@ public abstract class GenericTest {
     }
 
     protected Response jsonToObject(String s) {
-        log.info("Convert {}", s);
+        if (BodyLogging.sample("json")) {
+            log.info("Convert {}", BodyLogging.truncate(s));
+        }
         return new Response(gson.fromJson(s, LinkedTreeMap.class));
     }
 
     protected List<Response> jsonToListObjects(String s) {
-        log.info("Convert {}", s);
+        if (BodyLogging.sample("json")) {
+            log.info("Convert {}", BodyLogging.truncate(s));
+        }
         List<LinkedTreeMap<String, ?>> list = gson.fromJson(s, List.class);
         List<Response> responses = new ArrayList<>();
 
@@ -459,11 +646,7 @@ public abstract class GenericTest {
     }
 
     private Connection getConnection(DbConfig config) throws SQLException {
-        return DriverManager.getConnection(
-                config.getUrl(),
-                config.getUser(),
-                config.getPassword()
-        );
+        return DataSourceRegistry.get(config).getConnection();
     }
 
     protected <T> T fromJson(String jsonString, Class<T> clazz) {
@@ -474,85 +657,173 @@ public abstract class GenericTest {
         return gson.fromJson(gson.toJson(obj), clazz);
     }
 
-    protected List<Row> executeQuery(String query) {
-        return executeQuery(query, config.getDbConfig());
+    protected List<Row> executeQuery(String query, Object... params) {
+        return executeQuery(query, config.getDbConfig(), params);
     }
 
-    protected List<Row> executeQuery(String query, String configName) {
-        return executeQuery(query, config.getAdditionalDbConfigs().get(configName));
+    // Runs against one of the service's additionalDatabases, e.g. "wallet" or "user"
+    protected List<Row> executeQueryIn(String configName, String query, Object... params) {
+        return executeQuery(query, config.getAdditionalDbConfigs().get(configName), params);
     }
 
-    private List<Row> executeQuery(String query, DbConfig dbConfig) {
-        List<Row> rows = new ArrayList<>();
-
-        log.info("Execute query {}", query);
+    protected List<Row> executeQuery(String query, DbConfig dbConfig, Object... params) {
+        if (BodyLogging.sample("sql")) {
+            log.info("Execute query {} {}", BodyLogging.truncate(query), Arrays.toString(params));
+        }
 
         try (Connection connection = getConnection(dbConfig);
-             Statement statement = connection.createStatement();
-             ResultSet resultSet = statement.executeQuery(query)) {
-
-            ResultSetMetaData metaData = resultSet.getMetaData();
-            int columnCount = metaData.getColumnCount();
-
-            while (resultSet.next()) {
-                Map<String, Object> rowMap = new HashMap<>();
-                for (int i = 1; i <= columnCount; i++) {
-                    String columnName = metaData.getColumnName(i);
-                    Object value = resultSet.getObject(i);
-                    rowMap.put(columnName, value);
-                }
-                Row row = new Row(rowMap);
-                rows.add(row);
-            }
+             PreparedStatement statement = prepare(connection, query, params);
+             ResultSet resultSet = statement.executeQuery()) {
 
+            return ResultTable.read(resultSet);
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return rows;
+        return List.of();
+    }
+
+    protected Stream<Row> streamQuery(String query, Object... params) {
+        return streamQuery(query, config.getDbConfig(), params);
+    }
+
+    // Must be consumed inside try-with-resources, the stream holds a pooled connection until closed
+    protected Stream<Row> streamQuery(String query, DbConfig dbConfig, Object... params) {
+        if (BodyLogging.sample("sql")) {
+            log.info("Stream query {} {}", BodyLogging.truncate(query), Arrays.toString(params));
+        }
+
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = getConnection(dbConfig);
+            connection.setAutoCommit(false);
+            statement = prepare(connection, query, params);
+            statement.setFetchSize(FETCH_SIZE);
+            return new RowCursor(connection, statement, statement.executeQuery()).stream();
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            closeQuietly(connection);
+            throw new RuntimeException("Failed to open cursor for query: " + query, e);
+        }
     }
 
-    protected void executeUpdate(String query) {
-        executeUpdate(query, config.getDbConfig());
+    private void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.warn("Failed to close {}", closeable, e);
+        }
     }
 
-    protected void executeUpdate(String query, String configName) {
-        executeUpdate(query, config.getAdditionalDbConfigs().get(configName));
+    protected void executeUpdate(String query, Object... params) {
+        executeUpdate(query, config.getDbConfig(), params);
     }
 
-    private void executeUpdate(String query, DbConfig config) {
-        log.info("Execute update {}", query);
+    protected void executeUpdateIn(String configName, String query, Object... params) {
+        executeUpdate(query, config.getAdditionalDbConfigs().get(configName), params);
+    }
+
+    protected void executeUpdate(String query, DbConfig config, Object... params) {
+        if (BodyLogging.sample("sql")) {
+            log.info("Execute update {} {}", BodyLogging.truncate(query), Arrays.toString(params));
+        }
 
         try (Connection connection = getConnection(config);
-             Statement statement = connection.createStatement()) {
+             PreparedStatement statement = prepare(connection, query, params)) {
 
-            int affectedRows = statement.executeUpdate(query);
+            int affectedRows = statement.executeUpdate();
             assertEquals(affectedRows, 1);
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    protected int[] executeBatch(String query, List<Object[]> params) {
+        return executeBatch(query, config.getDbConfig(), params, 1);
+    }
+
+    protected int[] executeBatch(String query, DbConfig dbConfig, List<Object[]> params, int expectedRows) {
+        return executeBatch(query, dbConfig, params, expectedRows, BATCH_SIZE);
+    }
+
+    // The whole batch is one transaction, sent batchSize statements per round trip and rolled back if any statement
+    // fails or affects other than expectedRows. SUCCESS_NO_INFO from rewritten inserts is accepted as is
+    protected int[] executeBatch(String query, DbConfig dbConfig, List<Object[]> params, int expectedRows, int batchSize) {
+        if (BodyLogging.sample("sql")) {
+            log.info("Execute batch of {} statements {}", params.size(), BodyLogging.truncate(query));
+        }
+
+        int[] affectedRows = new int[params.size()];
+        try (Connection connection = getConnection(dbConfig);
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            connection.setAutoCommit(false);
+            try {
+                for (int from = 0; from < params.size(); from += batchSize) {
+                    int to = Math.min(from + batchSize, params.size());
+                    for (Object[] statementParams : params.subList(from, to)) {
+                        for (int i = 0; i < statementParams.length; i++) {
+                            statement.setObject(i + 1, statementParams[i]);
+                        }
+                        statement.addBatch();
+                    }
+                    int[] counts = statement.executeBatch();
+                    System.arraycopy(counts, 0, affectedRows, from, counts.length);
+                }
+
+                for (int i = 0; i < affectedRows.length; i++) {
+                    if (affectedRows[i] != Statement.SUCCESS_NO_INFO) {
+                        assertEquals(affectedRows[i], expectedRows, "Affected rows of statement " + i + " " + Arrays.toString(params.get(i)));
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException | AssertionError e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Batch failed: " + query, e.getNextException() != null ? e.getNextException() : e);
+        }
+
+        return affectedRows;
+    }
+
     protected void executeInsert(String query) {
         executeInsert(query, config.getDbConfig());
     }
 
     private void executeInsert(String query, DbConfig config) {
-        log.info("Execute insert {}", query);
+        if (BodyLogging.sample("sql")) {
+            log.info("Execute insert {}", BodyLogging.truncate(query));
+        }
 
         try (Connection connection = getConnection(config);
-             Statement statement = connection.createStatement()) {
+             PreparedStatement statement = connection.prepareStatement(query)) {
 
-            int affectedRows = statement.executeUpdate(query);
+            int affectedRows = statement.executeUpdate();
             assertEquals(affectedRows, 1);
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    private PreparedStatement prepare(Connection connection, String query, Object... params) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query);
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+        return statement;
+    }
+
     protected Long getUserId(String username) {
-        String query = "SELECT * FROM my_user u WHERE u.username = '%s'".formatted(username);
-        List<Row> row = executeQuery(query, config.getAdditionalDbConfigs().get("user"));
+        String query = "SELECT * FROM my_user u WHERE u.username = ?";
+        List<Row> row = executeQueryIn("user", query, username);
         assertEquals(row.size(), 1);
         return row.getFirst().getLong("id");
     }
@@ -563,27 +834,22 @@ public abstract class GenericTest {
         return Files.readString(Path.of(uri));
     }
 
-    private RedisConnection getRedisConnection() {
-        RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration(config.getRedisConfig().getUrl(),
-                config.getRedisConfig().getPort());
-        redisConfig.setPassword(config.getRedisConfig().getPassword());
-
-        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
-                .build();
-
-        LettuceConnectionFactory factory = new LettuceConnectionFactory(redisConfig, clientConfig);
-        factory.afterPropertiesSet();
+    protected List<Object> redisPipelined(Consumer<RedisConnection> commands) {
+        return RedisRegistry.pipelined(config.getRedisConfig(), commands);
+    }
 
-        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
-        redisTemplate.setConnectionFactory(factory);
-        redisTemplate.afterPropertiesSet();
+    // Clears only the keys of one cache namespace, safe to run next to parallel tests and load runs
+    protected long[] redisInvalidate(String namespace) {
+        return redisInvalidate(namespace, null);
+    }
 
-        return factory.getConnection();
+    protected long[] redisInvalidate(String namespace, Object id) {
+        RedisConfig redisConfig = config.getRedisConfig();
+        return RedisCacheInvalidator.invalidate(redisConfig, RedisCacheInvalidator.pattern(redisConfig, namespace, id));
     }
 
-    protected void redisFlushCache() {
-        RedisConnection connection = getRedisConnection();
-        connection.serverCommands().flushAll();
-        connection.close();
+    // Clears every configured cache namespace, keys of other services on the shared instance are left alone
+    protected long redisFlushCache() {
+        return RedisCacheInvalidator.invalidateAll(config.getRedisConfig());
     }
 }
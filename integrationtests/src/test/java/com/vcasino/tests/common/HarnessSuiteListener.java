@@ -0,0 +1,36 @@
+package com.vcasino.tests.common;
+
+import com.vcasino.tests.common.db.DataSourceRegistry;
+import com.vcasino.tests.common.db.DatabaseSnapshots;
+import com.vcasino.tests.common.db.PoolMetrics;
+import com.vcasino.tests.common.http.HttpClientRegistry;
+import com.vcasino.tests.common.metrics.EndpointLatencies;
+import com.vcasino.tests.common.metrics.EndpointTransfers;
+import com.vcasino.tests.common.redis.RedisCacheInvalidator;
+import com.vcasino.tests.common.redis.RedisRegistry;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+public class HarnessSuiteListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (DatabaseSnapshots.RESTORE_ON_START) {
+            int restored = DatabaseSnapshots.restoreAll(GenericTest.allDbConfigs());
+            // Cached entities would otherwise outlive the rows they were read from
+            if (restored > 0) {
+                GenericTest.allRedisConfigs().forEach(RedisCacheInvalidator::invalidateAll);
+            }
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        EndpointLatencies.logReport();
+        EndpointTransfers.logReport();
+        PoolMetrics.logReport();
+        HttpClientRegistry.closeAll();
+        DataSourceRegistry.closeAll();
+        RedisRegistry.closeAll();
+    }
+}
@@ -0,0 +1,56 @@
+package com.vcasino.tests.common;
+
+import com.vcasino.tests.common.config.RedisConfig;
+import com.vcasino.tests.common.metrics.EndpointLatencies;
+import com.vcasino.tests.common.redis.RedisStats;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Diffs Redis INFO counters around each test method, counts are skewed when tests run in parallel
+public class RedisStatsListener implements IInvokedMethodListener {
+
+    private static final String STATS_ATTRIBUTE = "vcasino.redisStats";
+    private static final String REQUESTS_ATTRIBUTE = "vcasino.endpointRequests";
+    private static final String ENDPOINT_PREFIX = System.getProperty("vcasino.redis.statsEndpoints", "GET /api/v1/bet/matches");
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!RedisStats.ENABLED || !method.isTestMethod()) return;
+
+        Map<RedisConfig, Map<String, Long>> snapshots = new HashMap<>();
+        GenericTest.allRedisConfigs().forEach(redisConfig -> snapshots.put(redisConfig, RedisStats.snapshot(redisConfig)));
+        testResult.setAttribute(STATS_ATTRIBUTE, snapshots);
+        testResult.setAttribute(REQUESTS_ATTRIBUTE, EndpointLatencies.requestCounts());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!RedisStats.ENABLED || !method.isTestMethod()) return;
+        var snapshots = (Map<RedisConfig, Map<String, Long>>) testResult.getAttribute(STATS_ATTRIBUTE);
+        var requestsBefore = (Map<String, Long>) testResult.getAttribute(REQUESTS_ATTRIBUTE);
+        if (snapshots == null || requestsBefore == null) return;
+
+        Map<String, Long> requests = new HashMap<>();
+        EndpointLatencies.requestCounts().forEach((endpoint, count) -> {
+            long delta = count - requestsBefore.getOrDefault(endpoint, 0L);
+            if (delta > 0 && endpoint.startsWith(ENDPOINT_PREFIX)) {
+                requests.put(endpoint, delta);
+            }
+        });
+
+        String label = testResult.getTestClass().getRealClass().getSimpleName() + "." + method.getTestMethod().getMethodName();
+        List<RedisConfig> redisConfigs = GenericTest.allRedisConfigs();
+        for (RedisConfig redisConfig : redisConfigs) {
+            Map<String, Long> before = snapshots.get(redisConfig);
+            if (before != null) {
+                RedisStats.logDelta(label, before, RedisStats.snapshot(redisConfig), requests);
+            }
+        }
+    }
+}
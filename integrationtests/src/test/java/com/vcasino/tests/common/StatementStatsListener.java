@@ -0,0 +1,27 @@
+package com.vcasino.tests.common;
+
+import com.vcasino.tests.common.db.StatementStats;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+// Attributes pg_stat_statements deltas to each test method, counts are skewed when tests run in parallel
+public class StatementStatsListener implements IInvokedMethodListener {
+
+    private static final String SNAPSHOT_ATTRIBUTE = "vcasino.statementStats";
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!StatementStats.ENABLED || !method.isTestMethod()) return;
+        testResult.setAttribute(SNAPSHOT_ATTRIBUTE, StatementStats.snapshot(GenericTest.allDbConfigs()));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!StatementStats.ENABLED || !method.isTestMethod()) return;
+        if (!(testResult.getAttribute(SNAPSHOT_ATTRIBUTE) instanceof StatementStats.Snapshot before)) return;
+
+        String label = testResult.getTestClass().getRealClass().getSimpleName() + "." + method.getTestMethod().getMethodName();
+        StatementStats.logDelta(label, before, StatementStats.snapshot(GenericTest.allDbConfigs()));
+    }
+}
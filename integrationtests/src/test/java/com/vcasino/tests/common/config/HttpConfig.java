@@ -0,0 +1,28 @@
+package com.vcasino.tests.common.config;
+
+import com.vcasino.tests.common.http.ConnectionMode;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.net.http.HttpClient;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HttpConfig {
+    ConnectionMode connectionMode;
+    HttpClient.Version version;
+    String executor;
+    Integer executorThreads;
+    Integer connectTimeoutMs;
+    // JVM wide jdk.httpclient.* settings, every service must use the same values
+    Integer poolSize;
+    Integer keepAliveSec;
+    Boolean compression;
+}
@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.FieldDefaults;
 
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,4 +18,6 @@ public class RedisConfig {
     String url;
     Integer port;
     String password;
+    // Cache namespace to key pattern, {id} is replaced with the entity id
+    Map<String, String> keyPatterns;
 }
@@ -15,5 +15,6 @@ public class ServiceConfig {
     DbConfig dbConfig;
     Map<String, DbConfig> additionalDbConfigs;
     RedisConfig redisConfig;
+    HttpConfig httpConfig;
     User adminUser;
 }
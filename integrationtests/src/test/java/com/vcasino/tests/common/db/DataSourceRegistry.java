@@ -0,0 +1,76 @@
+package com.vcasino.tests.common.db;
+
+import com.vcasino.tests.common.config.DbConfig;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+public final class DataSourceRegistry {
+
+    private static final int MAX_POOL_SIZE = Integer.getInteger("vcasino.db.maxPoolSize", 10);
+    private static final int MIN_IDLE = Integer.getInteger("vcasino.db.minIdle", 1);
+    private static final long CONNECTION_TIMEOUT_MS = Long.getLong("vcasino.db.connectionTimeoutMs", 30_000);
+    private static final long VALIDATION_TIMEOUT_MS = Long.getLong("vcasino.db.validationTimeoutMs", 5_000);
+    private static final long MAX_LIFETIME_MS = Long.getLong("vcasino.db.maxLifetimeMs", 30 * 60_000);
+    private static final long IDLE_TIMEOUT_MS = Long.getLong("vcasino.db.idleTimeoutMs", 10 * 60_000);
+    // pgjdbc caches statements per physical connection and switches to a server-side plan after this many executions
+    private static final int PREPARE_THRESHOLD = Integer.getInteger("vcasino.db.prepareThreshold", 3);
+    private static final int STATEMENT_CACHE_QUERIES = Integer.getInteger("vcasino.db.statementCacheQueries", 256);
+
+    private static final Map<DbConfig, HikariDataSource> DATA_SOURCES = new ConcurrentHashMap<>();
+    private static final PoolMetrics METRICS = new PoolMetrics();
+
+    private DataSourceRegistry() {
+    }
+
+    public static DataSource get(DbConfig dbConfig) {
+        return DATA_SOURCES.computeIfAbsent(dbConfig, DataSourceRegistry::createDataSource);
+    }
+
+    // Closes every pool connected to the database so it can be dropped or used as a template
+    public static void evict(String url) {
+        DATA_SOURCES.entrySet().removeIf(entry -> {
+            if (!entry.getKey().getUrl().equals(url)) return false;
+            entry.getValue().close();
+            return true;
+        });
+    }
+
+    public static void closeAll() {
+        DATA_SOURCES.values().forEach(HikariDataSource::close);
+        DATA_SOURCES.clear();
+    }
+
+    private static HikariDataSource createDataSource(DbConfig dbConfig) {
+        log.info("Create connection pool for {}", dbConfig.getUrl());
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName(poolName(dbConfig));
+        hikariConfig.setJdbcUrl(dbConfig.getUrl());
+        hikariConfig.setUsername(dbConfig.getUser());
+        hikariConfig.setPassword(dbConfig.getPassword());
+        hikariConfig.setMaximumPoolSize(MAX_POOL_SIZE);
+        hikariConfig.setMinimumIdle(MIN_IDLE);
+        hikariConfig.setConnectionTimeout(CONNECTION_TIMEOUT_MS);
+        hikariConfig.setValidationTimeout(VALIDATION_TIMEOUT_MS);
+        hikariConfig.setMaxLifetime(MAX_LIFETIME_MS);
+        hikariConfig.setIdleTimeout(IDLE_TIMEOUT_MS);
+        hikariConfig.setMetricsTrackerFactory(METRICS);
+        hikariConfig.addDataSourceProperty("prepareThreshold", String.valueOf(PREPARE_THRESHOLD));
+        hikariConfig.addDataSourceProperty("preparedStatementCacheQueries", String.valueOf(STATEMENT_CACHE_QUERIES));
+        // Collapses batched single-row inserts into multi-row INSERT statements
+        hikariConfig.addDataSourceProperty("reWriteBatchedInserts", "true");
+
+        return new HikariDataSource(hikariConfig);
+    }
+
+    private static String poolName(DbConfig dbConfig) {
+        String url = dbConfig.getUrl();
+        return dbConfig.getUser() + "@" + url.substring(url.lastIndexOf('/') + 1);
+    }
+}
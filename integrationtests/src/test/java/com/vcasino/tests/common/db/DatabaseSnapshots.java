@@ -0,0 +1,152 @@
+package com.vcasino.tests.common.db;
+
+import com.vcasino.tests.common.config.DbConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+@Slf4j
+public final class DatabaseSnapshots {
+
+    public static final boolean RESTORE_ON_START = Boolean.getBoolean("vcasino.db.restoreSnapshots");
+    private static final String MAINTENANCE_DATABASE = System.getProperty("vcasino.db.maintenanceDatabase", "postgres");
+    private static final String TEMPLATE_SUFFIX = "_template";
+    private static final String STAGING_SUFFIX = "_staging";
+    private static final int CREATE_ATTEMPTS = Integer.getInteger("vcasino.db.snapshotAttempts", 5);
+    private static final long CREATE_RETRY_DELAY_MS = 200;
+    // SQLSTATE for "source database is being accessed by other users"
+    private static final String OBJECT_IN_USE = "55006";
+
+    private DatabaseSnapshots() {
+    }
+
+    public static void snapshotAll(List<DbConfig> dbConfigs) {
+        for (DbConfig dbConfig : dbConfigs) {
+            String database = database(dbConfig);
+            long elapsedMs = run(dbConfig, database, database + TEMPLATE_SUFFIX);
+            log.info("Snapshot {} to {} in {} ms", database, database + TEMPLATE_SUFFIX, elapsedMs);
+        }
+    }
+
+    public static int restoreAll(List<DbConfig> dbConfigs) {
+        long start = System.nanoTime();
+        int restored = 0;
+        for (DbConfig dbConfig : dbConfigs) {
+            String database = database(dbConfig);
+            if (!templateExists(dbConfig, database + TEMPLATE_SUFFIX)) {
+                log.warn("No snapshot of {} found, skip restore", database);
+                continue;
+            }
+            long elapsedMs = run(dbConfig, database + TEMPLATE_SUFFIX, database);
+            log.info("Restore {} from {} in {} ms", database, database + TEMPLATE_SUFFIX, elapsedMs);
+            restored++;
+        }
+        log.info("Restored {} of {} databases in {} ms", restored, dbConfigs.size(), (System.nanoTime() - start) / 1_000_000);
+        return restored;
+    }
+
+    // CREATE DATABASE ... TEMPLATE requires the source to have no sessions. Services reconnect as soon as they are
+    // terminated, so the source is closed to new connections for the copy and reopened afterwards. The copy is made
+    // under a staging name and renamed over the target, so the target is only missing between DROP and RENAME.
+    private static long run(DbConfig dbConfig, String source, String target) {
+        long start = System.nanoTime();
+        String staging = target + STAGING_SUFFIX;
+        DataSourceRegistry.evict(dbConfig.getUrl());
+
+        try (Connection connection = DataSourceRegistry.get(maintenance(dbConfig)).getConnection();
+             Statement statement = connection.createStatement()) {
+
+            statement.execute("DROP DATABASE IF EXISTS %s WITH (FORCE)".formatted(quote(staging)));
+            statement.execute("ALTER DATABASE %s ALLOW_CONNECTIONS false".formatted(quote(source)));
+            try {
+                createFromTemplate(connection, staging, source);
+            } finally {
+                statement.execute("ALTER DATABASE %s ALLOW_CONNECTIONS true".formatted(quote(source)));
+            }
+
+            statement.execute("DROP DATABASE IF EXISTS %s WITH (FORCE)".formatted(quote(target)));
+            statement.execute("ALTER DATABASE %s RENAME TO %s".formatted(quote(staging), quote(target)));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to copy database %s to %s".formatted(source, target), e);
+        }
+
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    // Sessions opened before ALLOW_CONNECTIONS took effect can still hold the source, so terminate and retry
+    private static void createFromTemplate(Connection connection, String target, String source) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            terminateSessions(connection, source);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE DATABASE %s TEMPLATE %s".formatted(quote(target), quote(source)));
+                return;
+            } catch (SQLException e) {
+                if (!OBJECT_IN_USE.equals(e.getSQLState()) || attempt == CREATE_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("{} is still in use, retry CREATE ({}/{})", source, attempt, CREATE_ATTEMPTS);
+                sleep(CREATE_RETRY_DELAY_MS * attempt);
+            }
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void terminateSessions(Connection connection, String database) throws SQLException {
+        String query = "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE datname = ? AND pid <> pg_backend_pid()";
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, database);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                int terminated = 0;
+                while (resultSet.next()) {
+                    terminated++;
+                }
+                if (terminated > 0) {
+                    log.info("Terminated {} sessions on {}", terminated, database);
+                }
+            }
+        }
+    }
+
+    private static boolean templateExists(DbConfig dbConfig, String template) {
+        try (Connection connection = DataSourceRegistry.get(maintenance(dbConfig)).getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
+            statement.setString(1, template);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to look up " + template, e);
+        }
+    }
+
+    private static DbConfig maintenance(DbConfig dbConfig) {
+        DbConfig maintenance = new DbConfig();
+        maintenance.setUrl(dbConfig.getUrl().substring(0, dbConfig.getUrl().lastIndexOf('/') + 1) + MAINTENANCE_DATABASE);
+        maintenance.setUser(dbConfig.getUser());
+        maintenance.setPassword(dbConfig.getPassword());
+        return maintenance;
+    }
+
+    private static String database(DbConfig dbConfig) {
+        String url = dbConfig.getUrl();
+        int params = url.indexOf('?');
+        return url.substring(url.lastIndexOf('/') + 1, params < 0 ? url.length() : params);
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+}
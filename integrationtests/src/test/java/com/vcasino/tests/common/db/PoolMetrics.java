@@ -0,0 +1,90 @@
+package com.vcasino.tests.common.db;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public final class PoolMetrics implements MetricsTrackerFactory {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final Map<String, Tracker> TRACKERS = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        // A pool evicted and recreated under the same name gets a tracker on its own PoolStats, counts carry over
+        return TRACKERS.compute(poolName, (name, previous) -> new Tracker(poolStats, previous));
+    }
+
+    public static void logReport() {
+        if (TRACKERS.isEmpty()) {
+            return;
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-40s %10s %12s %12s %12s %9s %9s %6s%n",
+                "Pool", "Acquired", "Wait p50 ms", "Wait p99 ms", "Wait max ms", "Usage ms", "Timeouts", "Max"));
+
+        new TreeMap<>(TRACKERS).forEach((pool, tracker) -> {
+            Histogram wait = tracker.sampleWait();
+            long acquired = wait.getTotalCount();
+            report.append(String.format("%-40s %10d %12.3f %12.3f %12.3f %9.1f %9d %6d%n",
+                    pool,
+                    acquired,
+                    wait.getValueAtPercentile(50) / 1_000_000.0,
+                    wait.getValueAtPercentile(99) / 1_000_000.0,
+                    wait.getMaxValue() / 1_000_000.0,
+                    acquired == 0 ? 0 : (double) tracker.usageMillis.sum() / acquired,
+                    tracker.timeouts.sum(),
+                    tracker.poolStats.getMaxConnections()));
+        });
+
+        log.info("Connection pools:\n{}", report);
+    }
+
+    private static class Tracker implements IMetricsTracker {
+        private final PoolStats poolStats;
+        private final Recorder waitRecorder = new Recorder(MAX_TRACKABLE_NANOS, 3);
+        private final Histogram wait = new Histogram(MAX_TRACKABLE_NANOS, 3);
+        private final LongAdder usageMillis = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        private Tracker(PoolStats poolStats, Tracker previous) {
+            this.poolStats = poolStats;
+            if (previous != null) {
+                wait.add(previous.sampleWait());
+                usageMillis.add(previous.usageMillis.sum());
+                timeouts.add(previous.timeouts.sum());
+            }
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            waitRecorder.recordValue(Math.min(elapsedAcquiredNanos, MAX_TRACKABLE_NANOS));
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageMillis.add(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+
+        private synchronized Histogram sampleWait() {
+            wait.add(waitRecorder.getIntervalHistogram());
+            return wait;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.vcasino.tests.common.db;
+
+import com.vcasino.tests.model.ResultTable;
+import com.vcasino.tests.model.Row;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Slf4j
+public class RowCursor extends Spliterators.AbstractSpliterator<Row> implements AutoCloseable {
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final ResultTable.Header header;
+    private final int chunkSize;
+    private ResultTable chunk;
+    private int position;
+    private long fetched;
+
+    // Connection must have autocommit disabled, otherwise pgjdbc ignores fetchSize and buffers the whole result
+    public RowCursor(Connection connection, PreparedStatement statement, ResultSet resultSet) throws SQLException {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.header = ResultTable.Header.of(resultSet.getMetaData());
+        this.chunkSize = Math.max(1, statement.getFetchSize());
+    }
+
+    public Stream<Row> stream() {
+        return StreamSupport.stream(this, false).onClose(this::close);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Row> action) {
+        if ((chunk == null || position == chunk.size()) && !fetchChunk()) {
+            return false;
+        }
+        action.accept(chunk.get(position++));
+        return true;
+    }
+
+    // Rows are buffered one fetch at a time, each chunk shares the header of the query
+    private boolean fetchChunk() {
+        try {
+            chunk = new ResultTable(header);
+            position = 0;
+            while (chunk.size() < chunkSize && resultSet.next()) {
+                chunk.append(resultSet);
+            }
+            fetched += chunk.size();
+            return chunk.size() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        log.debug("Close cursor after {} rows", fetched);
+        try (connection; statement; resultSet) {
+            try {
+                // Read-only cursor, end the transaction before the connection goes back to the pool
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
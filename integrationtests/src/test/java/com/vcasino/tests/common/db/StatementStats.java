@@ -0,0 +1,175 @@
+package com.vcasino.tests.common.db;
+
+import com.vcasino.tests.common.config.DbConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+public final class StatementStats {
+
+    public static final boolean ENABLED = Boolean.getBoolean("vcasino.db.statementStats");
+    private static final int TOP = Integer.getInteger("vcasino.db.statementStatsTop", 10);
+    private static final int QUERY_CHARS = 100;
+
+    // toplevel rows of the same queryid are summed, the harness' own snapshot query is left out
+    private static final String SNAPSHOT_QUERY = """
+            SELECT s.queryid, MIN(s.query) AS query, SUM(s.calls) AS calls, SUM(s.total_exec_time) AS total_ms,
+                   SUM(s.rows) AS rows, SUM(s.shared_blks_read) AS shared_read, SUM(s.shared_blks_hit) AS shared_hit
+            FROM pg_stat_statements s
+            WHERE s.dbid = (SELECT oid FROM pg_database WHERE datname = current_database())
+              AND s.query NOT LIKE '%pg_stat_statements%'
+            GROUP BY s.queryid
+            """;
+
+    private static final Set<String> UNAVAILABLE = ConcurrentHashMap.newKeySet();
+
+    private StatementStats() {
+    }
+
+    public static Snapshot snapshot(List<DbConfig> dbConfigs) {
+        Map<String, Map<Long, Stat>> snapshot = new LinkedHashMap<>();
+        for (DbConfig dbConfig : dbConfigs) {
+            if (UNAVAILABLE.contains(dbConfig.getUrl())) continue;
+            try {
+                snapshot.put(database(dbConfig), snapshot(dbConfig));
+            } catch (SQLException e) {
+                UNAVAILABLE.add(dbConfig.getUrl());
+                log.warn("pg_stat_statements is not available on {}, skip it: {}", dbConfig.getUrl(), e.getMessage());
+            }
+        }
+        return new Snapshot(snapshot);
+    }
+
+    public static void logDelta(String label, Snapshot before, Snapshot after) {
+        List<Delta> deltas = new ArrayList<>();
+        after.databases.forEach((database, stats) -> {
+            Map<Long, Stat> previous = before.databases.getOrDefault(database, Map.of());
+            stats.forEach((queryId, stat) -> {
+                Stat delta = stat.minus(previous.get(queryId));
+                if (delta.calls > 0) {
+                    deltas.add(new Delta(database, delta));
+                }
+            });
+        });
+
+        if (deltas.isEmpty()) {
+            log.info("No SQL statements recorded for {}", label);
+            return;
+        }
+
+        deltas.sort(Comparator.comparingDouble((Delta d) -> d.stat.totalMs).reversed());
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-16s %8s %10s %9s %9s %10s %10s  %s%n",
+                "Database", "Calls", "Total ms", "Mean ms", "Rows", "Blks read", "Blks hit", "Query"));
+        for (Delta delta : deltas.subList(0, Math.min(TOP, deltas.size()))) {
+            Stat stat = delta.stat;
+            report.append(String.format("%-16s %8d %10.2f %9.3f %9d %10d %10d  %s%n",
+                    delta.database, stat.calls, stat.totalMs, stat.totalMs / stat.calls, stat.rows,
+                    stat.sharedRead, stat.sharedHit, shorten(stat.query)));
+        }
+
+        log.info("SQL cost of {} ({} statement shapes, top {} by total time):\n{}",
+                label, deltas.size(), Math.min(TOP, deltas.size()), report);
+    }
+
+    // Statement executions between the snapshots whose text contains the filter, -1 when nothing could be snapshotted
+    public static long calls(Snapshot before, Snapshot after, String filter) {
+        if (after.databases.isEmpty()) {
+            return -1;
+        }
+        long calls = 0;
+        for (Map.Entry<String, Map<Long, Stat>> database : after.databases.entrySet()) {
+            Map<Long, Stat> previous = before.databases.getOrDefault(database.getKey(), Map.of());
+            for (Map.Entry<Long, Stat> stat : database.getValue().entrySet()) {
+                if (stat.getValue().query.contains(filter)) {
+                    calls += stat.getValue().minus(previous.get(stat.getKey())).calls;
+                }
+            }
+        }
+        return calls;
+    }
+
+    private static Map<Long, Stat> snapshot(DbConfig dbConfig) throws SQLException {
+        Map<Long, Stat> stats = new HashMap<>();
+        try (Connection connection = DataSourceRegistry.get(dbConfig).getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SNAPSHOT_QUERY)) {
+
+            while (resultSet.next()) {
+                stats.put(resultSet.getLong("queryid"), new Stat(
+                        resultSet.getString("query"),
+                        resultSet.getLong("calls"),
+                        resultSet.getDouble("total_ms"),
+                        resultSet.getLong("rows"),
+                        resultSet.getLong("shared_read"),
+                        resultSet.getLong("shared_hit")));
+            }
+        }
+        return stats;
+    }
+
+    private static String database(DbConfig dbConfig) {
+        String url = dbConfig.getUrl();
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    private static String shorten(String query) {
+        String flat = query.replaceAll("\\s+", " ").trim();
+        return flat.length() <= QUERY_CHARS ? flat : flat.substring(0, QUERY_CHARS) + "...";
+    }
+
+    public static class Snapshot {
+        private final Map<String, Map<Long, Stat>> databases;
+
+        private Snapshot(Map<String, Map<Long, Stat>> databases) {
+            this.databases = databases;
+        }
+    }
+
+    private static class Stat {
+        private final String query;
+        private final long calls;
+        private final double totalMs;
+        private final long rows;
+        private final long sharedRead;
+        private final long sharedHit;
+
+        Stat(String query, long calls, double totalMs, long rows, long sharedRead, long sharedHit) {
+            this.query = query;
+            this.calls = calls;
+            this.totalMs = totalMs;
+            this.rows = rows;
+            this.sharedRead = sharedRead;
+            this.sharedHit = sharedHit;
+        }
+
+        Stat minus(Stat other) {
+            if (other == null) return this;
+            return new Stat(query, calls - other.calls, totalMs - other.totalMs, rows - other.rows,
+                    sharedRead - other.sharedRead, sharedHit - other.sharedHit);
+        }
+    }
+
+    private static class Delta {
+        private final String database;
+        private final Stat stat;
+
+        private Delta(String database, Stat stat) {
+            this.database = database;
+            this.stat = stat;
+        }
+    }
+}
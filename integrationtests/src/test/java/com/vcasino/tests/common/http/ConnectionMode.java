@@ -0,0 +1,8 @@
+package com.vcasino.tests.common.http;
+
+public enum ConnectionMode {
+    // One keep-alive client per ServiceConfig, connections are pooled between requests
+    REUSED,
+    // New client (and TCP connection) for every request, closed after the exchange
+    FRESH
+}
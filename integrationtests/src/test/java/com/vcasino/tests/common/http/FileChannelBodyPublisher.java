@@ -0,0 +1,132 @@
+package com.vcasino.tests.common.http;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Reads the file in fixed-size chunks on demand, the file is never held in memory as a whole
+public class FileChannelBodyPublisher implements HttpRequest.BodyPublisher {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final long size;
+
+    public FileChannelBodyPublisher(Path path) throws IOException {
+        this.path = path;
+        this.size = Files.size(path);
+    }
+
+    @Override
+    public long contentLength() {
+        return size;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException e) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(e);
+            return;
+        }
+        subscriber.onSubscribe(new ChunkSubscription(channel, subscriber));
+    }
+
+    private class ChunkSubscription implements Flow.Subscription {
+        private final FileChannel channel;
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private long position;
+
+        private ChunkSubscription(FileChannel channel, Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.channel = channel;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                finish(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            finish(null);
+        }
+
+        // Only one thread emits at a time, re-entrant request() calls just add demand
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (demand.get() > 0 && !done.get()) {
+                    if (position >= size) {
+                        finish(null);
+                        subscriber.onComplete();
+                        return;
+                    }
+                    ByteBuffer chunk;
+                    try {
+                        chunk = readChunk();
+                    } catch (IOException e) {
+                        finish(e);
+                        return;
+                    }
+                    demand.decrementAndGet();
+                    subscriber.onNext(chunk);
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private ByteBuffer readChunk() throws IOException {
+            ByteBuffer chunk = ByteBuffer.allocate((int) Math.min(CHUNK_SIZE, size - position));
+            while (chunk.hasRemaining()) {
+                int read = channel.read(chunk, position + chunk.position());
+                if (read < 0) {
+                    throw new IOException("File " + path + " shrank while uploading");
+                }
+            }
+            position += chunk.position();
+            return chunk.flip();
+        }
+
+        private void finish(Throwable error) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            if (error != null) {
+                subscriber.onError(error);
+            }
+        }
+    }
+}
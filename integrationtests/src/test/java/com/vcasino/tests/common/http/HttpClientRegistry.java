@@ -0,0 +1,126 @@
+package com.vcasino.tests.common.http;
+
+import com.vcasino.tests.common.config.HttpConfig;
+import com.vcasino.tests.common.config.ServiceConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+public final class HttpClientRegistry {
+
+    private static final Map<ServiceConfig, HttpClient> CLIENTS = new ConcurrentHashMap<>();
+    private static final Map<HttpClient, ExecutorService> EXECUTORS = new ConcurrentHashMap<>();
+    private static final ExecutorService CLOSER = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Pool settings applied to the JVM, every later client must ask for the same ones
+    private static Integer appliedPoolSize;
+    private static Integer appliedKeepAliveSec;
+
+    private HttpClientRegistry() {
+    }
+
+    public static <T> HttpResponse<T> send(ServiceConfig config, HttpRequest request,
+                                           HttpResponse.BodyHandler<T> handler) throws Exception {
+        if (config.getHttpConfig().getConnectionMode() == ConnectionMode.FRESH) {
+            HttpClient client = newClient(config.getHttpConfig());
+            try {
+                return client.send(request, handler);
+            } finally {
+                close(client);
+            }
+        }
+        return get(config).send(request, handler);
+    }
+
+    public static <T> CompletableFuture<HttpResponse<T>> sendAsync(ServiceConfig config, HttpRequest request,
+                                                                  HttpResponse.BodyHandler<T> handler) {
+        if (config.getHttpConfig().getConnectionMode() == ConnectionMode.FRESH) {
+            HttpClient client = newClient(config.getHttpConfig());
+            // close() blocks until the client terminates, which must not happen on the client's own completion thread
+            return client.sendAsync(request, handler)
+                    .whenComplete((response, e) -> {
+                        client.shutdown();
+                        CLOSER.execute(() -> close(client));
+                    });
+        }
+        return get(config).sendAsync(request, handler);
+    }
+
+    public static HttpClient get(ServiceConfig config) {
+        return CLIENTS.computeIfAbsent(config, c -> {
+            log.info("Create shared HttpClient for {}:{}", c.getAddress(), c.getPort());
+            return newClient(c.getHttpConfig());
+        });
+    }
+
+    public static HttpClient newClient(HttpConfig httpConfig) {
+        applyPoolProperties(httpConfig);
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(httpConfig.getVersion())
+                .connectTimeout(Duration.ofMillis(httpConfig.getConnectTimeoutMs()));
+
+        ExecutorService executor = createExecutor(httpConfig);
+        if (executor != null) {
+            builder.executor(executor);
+        }
+
+        HttpClient client = builder.build();
+        if (executor != null) {
+            EXECUTORS.put(client, executor);
+        }
+        return client;
+    }
+
+    public static void closeAll() {
+        CLIENTS.values().forEach(HttpClientRegistry::close);
+        CLIENTS.clear();
+    }
+
+    private static void close(HttpClient client) {
+        client.close();
+        ExecutorService executor = EXECUTORS.remove(client);
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static ExecutorService createExecutor(HttpConfig httpConfig) {
+        return switch (httpConfig.getExecutor()) {
+            case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+            case "fixed" -> Executors.newFixedThreadPool(httpConfig.getExecutorThreads());
+            case "default" -> null;
+            default -> throw new IllegalArgumentException("Unknown HttpClient executor: " + httpConfig.getExecutor());
+        };
+    }
+
+    // jdk.httpclient.* pool settings are JVM wide and read once, when the first client is created. They come from the
+    // global vcasino.http.poolSize and vcasino.http.keepAliveSec values, a config asking for different ones is rejected
+    // instead of being silently ignored.
+    private static synchronized void applyPoolProperties(HttpConfig httpConfig) {
+        if (appliedPoolSize == null) {
+            if (System.getProperty("jdk.httpclient.connectionPoolSize") == null) {
+                System.setProperty("jdk.httpclient.connectionPoolSize", String.valueOf(httpConfig.getPoolSize()));
+            }
+            if (System.getProperty("jdk.httpclient.keepalive.timeout") == null) {
+                System.setProperty("jdk.httpclient.keepalive.timeout", String.valueOf(httpConfig.getKeepAliveSec()));
+            }
+            appliedPoolSize = httpConfig.getPoolSize();
+            appliedKeepAliveSec = httpConfig.getKeepAliveSec();
+            return;
+        }
+        if (!appliedPoolSize.equals(httpConfig.getPoolSize()) || !appliedKeepAliveSec.equals(httpConfig.getKeepAliveSec())) {
+            throw new IllegalStateException("HttpClient pool settings are JVM wide: poolSize %s, keepAliveSec %s already applied, got %s, %s"
+                    .formatted(appliedPoolSize, appliedKeepAliveSec, httpConfig.getPoolSize(), httpConfig.getKeepAliveSec()));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.vcasino.tests.common.http;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.function.Supplier;
+
+@Getter
+@AllArgsConstructor
+public class JsonBody<T> {
+    // Only kept when the body has to be logged or the status was unexpected
+    private final String raw;
+    private final Supplier<T> value;
+}
@@ -0,0 +1,50 @@
+package com.vcasino.tests.common.http;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+public class JsonBodyHandler<T> implements HttpResponse.BodyHandler<JsonBody<T>> {
+
+    private final Gson gson;
+    private final Type type;
+    private final int expectedCode;
+    private final boolean keepRaw;
+
+    public JsonBodyHandler(Gson gson, Type type, int expectedCode, boolean keepRaw) {
+        this.gson = gson;
+        this.type = type;
+        this.expectedCode = expectedCode;
+        this.keepRaw = keepRaw;
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<JsonBody<T>> apply(HttpResponse.ResponseInfo responseInfo) {
+        if (keepRaw || responseInfo.statusCode() != expectedCode) {
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8),
+                    raw -> new JsonBody<>(raw, () -> gson.fromJson(raw, type)));
+        }
+
+        // The body is fully received before send returns, like the String path, so latencies stay comparable.
+        // Decoding from the bytes is deferred to the caller thread, blocking inside the mapper can stall the client.
+        return HttpResponse.BodySubscribers.mapping(
+                HttpResponse.BodySubscribers.ofByteArray(),
+                bytes -> new JsonBody<>(null, () -> decode(bytes)));
+    }
+
+    private T decode(byte[] bytes) {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
+            return gson.fromJson(reader, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
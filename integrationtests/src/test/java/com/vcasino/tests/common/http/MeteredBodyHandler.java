@@ -0,0 +1,189 @@
+package com.vcasino.tests.common.http;
+
+import com.vcasino.tests.common.metrics.EndpointTransfers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+// Counts bytes on the wire and after decoding, and inflates gzip/deflate bodies before the downstream handler sees them
+public class MeteredBodyHandler<T> implements HttpResponse.BodyHandler<T> {
+
+    private final String endpoint;
+    private final HttpResponse.BodyHandler<T> downstream;
+
+    public MeteredBodyHandler(String endpoint, HttpResponse.BodyHandler<T> downstream) {
+        this.endpoint = endpoint;
+        this.downstream = downstream;
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<T> apply(HttpResponse.ResponseInfo responseInfo) {
+        String encoding = responseInfo.headers().firstValue("Content-Encoding").orElse("identity").toLowerCase();
+        HttpResponse.BodySubscriber<T> subscriber = downstream.apply(responseInfo);
+
+        return switch (encoding) {
+            case "gzip", "deflate" -> new DecodingSubscriber<>(endpoint, encoding, subscriber);
+            default -> new CountingSubscriber<>(endpoint, subscriber);
+        };
+    }
+
+    private static class CountingSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+        private final String endpoint;
+        private final HttpResponse.BodySubscriber<T> downstream;
+        private long bytes;
+
+        private CountingSubscriber(String endpoint, HttpResponse.BodySubscriber<T> downstream) {
+            this.endpoint = endpoint;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            for (ByteBuffer buffer : item) {
+                bytes += buffer.remaining();
+            }
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            EndpointTransfers.record(endpoint, "identity", bytes, bytes);
+            downstream.onComplete();
+        }
+    }
+
+    private static class DecodingSubscriber<T> implements HttpResponse.BodySubscriber<T>, Flow.Subscription {
+        private final String endpoint;
+        private final String encoding;
+        private final HttpResponse.BodySubscriber<T> downstream;
+        private final List<ByteBuffer> received = new ArrayList<>();
+        private Flow.Subscription upstream;
+        private long wireBytes;
+        private List<ByteBuffer> decoded;
+        private boolean requested;
+        private boolean emitted;
+
+        private DecodingSubscriber(String endpoint, String encoding, HttpResponse.BodySubscriber<T> downstream) {
+            this.endpoint = endpoint;
+            this.encoding = encoding;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            upstream.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            for (ByteBuffer buffer : item) {
+                wireBytes += buffer.remaining();
+                received.add(buffer);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            byte[] body;
+            try {
+                body = decode(received);
+            } catch (IOException e) {
+                downstream.onError(e);
+                return;
+            }
+            received.clear();
+            EndpointTransfers.record(endpoint, encoding, wireBytes, body.length);
+
+            synchronized (this) {
+                decoded = List.of(ByteBuffer.wrap(body));
+            }
+            tryEmit();
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                requested = true;
+            }
+            tryEmit();
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+
+        private synchronized void tryEmit() {
+            if (emitted || !requested || decoded == null) {
+                return;
+            }
+            emitted = true;
+            downstream.onNext(decoded);
+            downstream.onComplete();
+        }
+
+        private byte[] decode(List<ByteBuffer> buffers) throws IOException {
+            byte[] wire = new byte[(int) wireBytes];
+            int offset = 0;
+            for (ByteBuffer buffer : buffers) {
+                int length = buffer.remaining();
+                buffer.get(wire, offset, length);
+                offset += length;
+            }
+
+            if (encoding.equals("gzip")) {
+                return inflate(new GZIPInputStream(new ByteArrayInputStream(wire)));
+            }
+            try {
+                return inflate(new InflaterInputStream(new ByteArrayInputStream(wire)));
+            } catch (ZipException e) {
+                // Some servers send raw deflate without the zlib wrapper
+                return inflate(new InflaterInputStream(new ByteArrayInputStream(wire), new Inflater(true)));
+            }
+        }
+
+        private byte[] inflate(InputStream in) throws IOException {
+            try (in) {
+                return in.readAllBytes();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.vcasino.tests.common.http;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class MultipartBodyPublisher {
+
+    private final String boundary = "----VCasinoBoundary" + UUID.randomUUID().toString().replace("-", "");
+    private final List<HttpRequest.BodyPublisher> publishers = new ArrayList<>();
+    private int parts;
+
+    public MultipartBodyPublisher addFile(String name, Path file, String contentType) throws IOException {
+        String header = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + file.getFileName() + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n";
+
+        publishers.add(HttpRequest.BodyPublishers.ofString(header, StandardCharsets.UTF_8));
+        publishers.add(new FileChannelBodyPublisher(file));
+        publishers.add(HttpRequest.BodyPublishers.ofString("\r\n"));
+        parts++;
+        return this;
+    }
+
+    public MultipartBodyPublisher addText(String name, String value) {
+        String part = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n";
+
+        publishers.add(HttpRequest.BodyPublishers.ofString(part, StandardCharsets.UTF_8));
+        parts++;
+        return this;
+    }
+
+    public String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    public HttpRequest.BodyPublisher build() {
+        List<HttpRequest.BodyPublisher> all = new ArrayList<>(publishers);
+        all.add(HttpRequest.BodyPublishers.ofString("--" + boundary + "--\r\n"));
+        return HttpRequest.BodyPublishers.concat(all.toArray(new HttpRequest.BodyPublisher[0]));
+    }
+
+    @Override
+    public String toString() {
+        return "multipart/form-data with " + parts + " part(s), " + build().contentLength() + " bytes";
+    }
+}
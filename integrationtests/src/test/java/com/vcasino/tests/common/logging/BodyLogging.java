@@ -0,0 +1,36 @@
+package com.vcasino.tests.common.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Body and SQL logging policy, selected per run with -Dvcasino.log.mode=bench and the vcasino.log.* overrides
+public final class BodyLogging {
+
+    private static final boolean BENCH = "bench".equals(System.getProperty("vcasino.log.mode"));
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("vcasino.log.bodies", "true"));
+    private static final int MAX_CHARS = Integer.getInteger("vcasino.log.maxBodyChars", BENCH ? 2048 : -1);
+    private static final int SAMPLE_RATE = Integer.getInteger("vcasino.log.bodySampleRate", BENCH ? 1000 : 1);
+    private static final Map<String, AtomicLong> COUNTERS = new ConcurrentHashMap<>();
+
+    private BodyLogging() {
+    }
+
+    // The first body of every key is always logged, then one in SAMPLE_RATE
+    public static boolean sample(String key) {
+        if (!ENABLED) {
+            return false;
+        }
+        if (SAMPLE_RATE <= 1) {
+            return true;
+        }
+        return COUNTERS.computeIfAbsent(key, k -> new AtomicLong()).getAndIncrement() % SAMPLE_RATE == 0;
+    }
+
+    public static String truncate(String body) {
+        if (body == null || MAX_CHARS < 0 || body.length() <= MAX_CHARS) {
+            return body;
+        }
+        return body.substring(0, MAX_CHARS) + "... (" + (body.length() - MAX_CHARS) + " more chars)";
+    }
+}
@@ -0,0 +1,84 @@
+package com.vcasino.tests.common.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public final class EndpointLatencies {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final Map<String, Endpoint> ENDPOINTS = new ConcurrentHashMap<>();
+
+    private EndpointLatencies() {
+    }
+
+    public static void record(String endpoint, long nanos) {
+        Endpoint e = ENDPOINTS.get(endpoint);
+        if (e == null) {
+            e = ENDPOINTS.computeIfAbsent(endpoint, k -> new Endpoint());
+        }
+        e.recorder.recordValue(Math.min(nanos, MAX_TRACKABLE_NANOS));
+        e.requests.increment();
+    }
+
+    public static Map<String, Long> requestCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        ENDPOINTS.forEach((endpoint, e) -> counts.put(endpoint, e.requests.sum()));
+        return counts;
+    }
+
+    public static Map<String, Histogram> sampleIntervals() {
+        Map<String, Histogram> intervals = new TreeMap<>();
+        ENDPOINTS.forEach((endpoint, e) -> intervals.put(endpoint, e.sampleInterval()));
+        return intervals;
+    }
+
+    public static void logReport() {
+        if (ENDPOINTS.isEmpty()) {
+            return;
+        }
+        sampleIntervals();
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-60s %8s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        new TreeMap<>(ENDPOINTS).forEach((endpoint, e) -> {
+            Histogram h = e.total;
+            report.append(String.format("%-60s %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint,
+                    h.getTotalCount(),
+                    toMillis(h.getValueAtPercentile(50)),
+                    toMillis(h.getValueAtPercentile(90)),
+                    toMillis(h.getValueAtPercentile(99)),
+                    toMillis(h.getValueAtPercentile(99.9)),
+                    toMillis(h.getMaxValue())));
+        });
+
+        log.info("Endpoint latencies:\n{}", report);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class Endpoint {
+        private final Recorder recorder = new Recorder(MAX_TRACKABLE_NANOS, 3);
+        private final Histogram total = new Histogram(MAX_TRACKABLE_NANOS, 3);
+        private final LongAdder requests = new LongAdder();
+        private Histogram interval;
+
+        private synchronized Histogram sampleInterval() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return interval.copy();
+        }
+    }
+}
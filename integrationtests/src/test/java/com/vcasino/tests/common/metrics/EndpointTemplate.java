@@ -0,0 +1,61 @@
+package com.vcasino.tests.common.metrics;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class EndpointTemplate {
+
+    // Distinct paths grow with ids, so stop caching past this size rather than keep every request path
+    private static final int MAX_CACHED_PATHS = 10_000;
+    private static final Map<String, Map<String, String>> CACHE = new ConcurrentHashMap<>();
+
+    private EndpointTemplate() {
+    }
+
+    public static String of(String method, URI uri) {
+        Map<String, String> byPath = CACHE.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+        String path = uri.getRawPath();
+        String endpoint = byPath.get(path);
+        if (endpoint == null) {
+            endpoint = method + " " + template(path);
+            if (byPath.size() < MAX_CACHED_PATHS) {
+                byPath.put(path, endpoint);
+            }
+        }
+        return endpoint;
+    }
+
+    // /api/v1/bet/matches/123 -> /api/v1/bet/matches/{id}, UUID segments are treated the same way
+    public static String template(String path) {
+        StringBuilder sb = new StringBuilder(path.length());
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start + 1);
+            if (end == -1) {
+                end = path.length();
+            }
+            if (isIdentifier(path, start + 1, end)) {
+                sb.append("/{id}");
+            } else {
+                sb.append(path, start, end);
+            }
+            start = end;
+        }
+        return sb.toString();
+    }
+
+    private static boolean isIdentifier(String path, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        boolean digitsOnly = true;
+        boolean hexOrDash = true;
+        for (int i = from; i < to; i++) {
+            char c = path.charAt(i);
+            digitsOnly &= Character.isDigit(c);
+            hexOrDash &= Character.digit(c, 16) != -1 || c == '-';
+        }
+        return digitsOnly || (hexOrDash && to - from == 36);
+    }
+}
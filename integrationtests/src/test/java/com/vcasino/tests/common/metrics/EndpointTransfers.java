@@ -0,0 +1,70 @@
+package com.vcasino.tests.common.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public final class EndpointTransfers {
+
+    private static final long HEAVY_RESPONSE_BYTES = Long.getLong("vcasino.http.heavyResponseBytes", 64 * 1024);
+    private static final Map<String, Transfer> TRANSFERS = new ConcurrentHashMap<>();
+
+    private EndpointTransfers() {
+    }
+
+    public static void record(String endpoint, String encoding, long wireBytes, long decodedBytes) {
+        Transfer transfer = TRANSFERS.computeIfAbsent(endpoint, k -> new Transfer());
+        transfer.responses.increment();
+        transfer.wireBytes.add(wireBytes);
+        transfer.decodedBytes.add(decodedBytes);
+        if (!encoding.equals("identity")) {
+            transfer.compressedResponses.increment();
+        }
+    }
+
+    public static void logReport() {
+        if (TRANSFERS.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, Transfer>> entries = new ArrayList<>(TRANSFERS.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Transfer> e) -> e.getValue().decodedBytes.sum()).reversed());
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-60s %8s %10s %12s %12s %12s %7s%n",
+                "Endpoint", "Count", "Compressed", "Wire KiB", "Decoded KiB", "Avg KiB", "Ratio"));
+
+        for (Map.Entry<String, Transfer> entry : entries) {
+            Transfer t = entry.getValue();
+            long responses = t.responses.sum();
+            long wire = t.wireBytes.sum();
+            long decoded = t.decodedBytes.sum();
+            long average = decoded / responses;
+
+            report.append(String.format("%-60s %8d %10d %12.1f %12.1f %12.1f %7.2f%s%n",
+                    entry.getKey(),
+                    responses,
+                    t.compressedResponses.sum(),
+                    wire / 1024.0,
+                    decoded / 1024.0,
+                    average / 1024.0,
+                    wire == 0 ? 1.0 : (double) decoded / wire,
+                    average >= HEAVY_RESPONSE_BYTES ? "  HEAVY" : ""));
+        }
+
+        log.info("Endpoint transfer sizes:\n{}", report);
+    }
+
+    private static class Transfer {
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder compressedResponses = new LongAdder();
+        private final LongAdder wireBytes = new LongAdder();
+        private final LongAdder decodedBytes = new LongAdder();
+    }
+}
@@ -0,0 +1,90 @@
+package com.vcasino.tests.common.redis;
+
+import com.vcasino.tests.common.config.RedisConfig;
+import io.lettuce.core.RedisFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+public final class RedisCacheInvalidator {
+
+    private static final int SCAN_COUNT = Integer.getInteger("vcasino.redis.scanCount", 500);
+
+    private RedisCacheInvalidator() {
+    }
+
+    public static String pattern(RedisConfig redisConfig, String namespace, Object id) {
+        String pattern = redisConfig.getKeyPatterns() == null ? null : redisConfig.getKeyPatterns().get(namespace);
+        if (pattern == null) {
+            throw new IllegalArgumentException("No Redis key pattern configured for namespace " + namespace);
+        }
+        return id == null ? pattern : pattern.replace("{id}", String.valueOf(id));
+    }
+
+    // Every configured namespace for any id, used when the backing databases were swapped underneath the services
+    public static long invalidateAll(RedisConfig redisConfig) {
+        if (redisConfig.getKeyPatterns() == null) {
+            return 0;
+        }
+        long keys = 0;
+        for (String namespace : redisConfig.getKeyPatterns().keySet()) {
+            keys += invalidate(redisConfig, pattern(redisConfig, namespace, "*"))[0];
+        }
+        return keys;
+    }
+
+    // SCAN walks the keyspace incrementally and UNLINK frees values in the background, so neither blocks Redis
+    public static long[] invalidate(RedisConfig redisConfig, String pattern) {
+        long keys = 0;
+        long bytes = 0;
+
+        try (RedisConnection connection = RedisRegistry.getConnection(redisConfig);
+             Cursor<byte[]> cursor = connection.keyCommands()
+                     .scan(ScanOptions.scanOptions().match(pattern).count(SCAN_COUNT).build())) {
+
+            List<byte[]> batch = new ArrayList<>(SCAN_COUNT);
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == SCAN_COUNT) {
+                    bytes += unlink(redisConfig, batch);
+                    keys += batch.size();
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                bytes += unlink(redisConfig, batch);
+                keys += batch.size();
+            }
+        }
+
+        log.info("Invalidated {} Redis keys ({} bytes) matching {}", keys, bytes, pattern);
+        return new long[]{keys, bytes};
+    }
+
+    private static long unlink(RedisConfig redisConfig, List<byte[]> keys) {
+        List<RedisFuture<Long>> usages = RedisRegistry.nativeCommands(redisConfig, commands -> {
+            List<RedisFuture<Long>> futures = new ArrayList<>(keys.size());
+            for (byte[] key : keys) {
+                futures.add(commands.memoryUsage(key));
+            }
+            futures.add(commands.unlink(keys.toArray(new byte[0][])));
+            return futures;
+        });
+
+        long bytes = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            // Keys expired between SCAN and MEMORY USAGE reply with null
+            Long usage = RedisRegistry.await(usages.get(i));
+            if (usage != null) {
+                bytes += usage;
+            }
+        }
+        RedisRegistry.await(usages.getLast());
+        return bytes;
+    }
+}
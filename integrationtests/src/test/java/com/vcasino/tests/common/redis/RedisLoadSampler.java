@@ -0,0 +1,259 @@
+package com.vcasino.tests.common.redis;
+
+import com.vcasino.tests.common.config.RedisConfig;
+import com.vcasino.tests.common.metrics.EndpointLatencies;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.output.NestedMultiOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Samples SLOWLOG and LATENCY on the same seconds-since-start timeline as the client-side interval histograms
+@Slf4j
+public class RedisLoadSampler implements AutoCloseable {
+
+    // Opt-in, sampling rewrites slowlog and latency-monitor thresholds on the shared server for the run
+    private static final boolean ENABLED = Boolean.getBoolean("vcasino.redis.loadSampling");
+    private static final long INTERVAL_MS = Long.getLong("vcasino.redis.sampleIntervalMs", 1000);
+    private static final String SLOWLOG_MICROS = System.getProperty("vcasino.redis.slowlogMicros", "10000");
+    private static final String LATENCY_THRESHOLD_MS = System.getProperty("vcasino.redis.latencyThresholdMs", "10");
+    private static final int COMMAND_CHARS = 60;
+
+    private final RedisConfig redisConfig;
+    // Interval histograms are drained on sampling, so only one sampler may read them
+    private final boolean sampleClient;
+    private final long startMillis = System.currentTimeMillis();
+    private final ScheduledExecutorService scheduler;
+    private final Properties previousConfig = new Properties();
+    private final Map<Long, Tick> timeline = new TreeMap<>();
+    private final Set<String> latencyEvents = new LinkedHashSet<>();
+    private long lastSlowlogId = -1;
+
+    private RedisLoadSampler(RedisConfig redisConfig, boolean sampleClient) {
+        this.redisConfig = redisConfig;
+        this.sampleClient = sampleClient;
+        enableMonitoring();
+        // Entries logged before the run are skipped
+        sample();
+        timeline.clear();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-load-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::sample, INTERVAL_MS, INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public static Sampling start(List<RedisConfig> redisConfigs) {
+        if (!ENABLED || redisConfigs.isEmpty()) {
+            return () -> {
+            };
+        }
+        List<RedisLoadSampler> samplers = new ArrayList<>();
+        for (int i = 0; i < redisConfigs.size(); i++) {
+            samplers.add(new RedisLoadSampler(redisConfigs.get(i), i == 0));
+        }
+        return () -> samplers.forEach(RedisLoadSampler::close);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(INTERVAL_MS * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sample();
+        try {
+            readLatencyHistory();
+        } catch (RuntimeException e) {
+            log.warn("Failed to read Redis latency history: {}", e.getMessage());
+        }
+        restoreMonitoring();
+        logTimeline();
+    }
+
+    private synchronized void sample() {
+        try {
+            Tick tick = tick(System.currentTimeMillis());
+            if (sampleClient) {
+                for (Histogram interval : EndpointLatencies.sampleIntervals().values()) {
+                    tick.client.add(interval);
+                }
+            }
+            readSlowlog();
+            readLatencyLatest();
+        } catch (RuntimeException e) {
+            log.warn("Failed to sample Redis {}:{}: {}", redisConfig.getUrl(), redisConfig.getPort(), e.getMessage());
+        }
+    }
+
+    private void readSlowlog() {
+        long newest = lastSlowlogId;
+        for (SlowCommand slowCommand : slowlog(redisConfig, 128)) {
+            if (slowCommand.id <= lastSlowlogId) {
+                continue;
+            }
+            newest = Math.max(newest, slowCommand.id);
+
+            Tick tick = tick(slowCommand.unixSeconds * 1000);
+            tick.slowCommands++;
+            if (slowCommand.micros > tick.slowestMicros) {
+                tick.slowestMicros = slowCommand.micros;
+                tick.slowestCommand = slowCommand.command;
+            }
+        }
+        lastSlowlogId = newest;
+    }
+
+    // SLOWLOG GET: [id, unix seconds, micros, [command args], client, name], newest first
+    public static List<SlowCommand> slowlog(RedisConfig redisConfig, int count) {
+        List<Object> entries = RedisRegistry.nativeCommands(redisConfig,
+                commands -> RedisRegistry.await(commands.slowlogGet(count)));
+        List<SlowCommand> slowCommands = new ArrayList<>(entries.size());
+        for (Object item : entries) {
+            List<?> entry = (List<?>) item;
+            slowCommands.add(new SlowCommand(number(entry.get(0)), number(entry.get(1)), number(entry.get(2)),
+                    command((List<?>) entry.get(3))));
+        }
+        return slowCommands;
+    }
+
+    // LATENCY LATEST: [event, unix seconds, latest ms, max ms]
+    private void readLatencyLatest() {
+        for (Object item : latency("LATEST")) {
+            latencyEvents.add(text(((List<?>) item).getFirst()));
+        }
+    }
+
+    // LATENCY HISTORY keeps up to 160 samples per event, enough to place every spike of a run on the timeline
+    private void readLatencyHistory() {
+        for (String event : latencyEvents) {
+            for (Object item : latency("HISTORY", event)) {
+                List<?> sample = (List<?>) item;
+                long unixMillis = number(sample.get(0)) * 1000;
+                if (unixMillis < startMillis) {
+                    continue;
+                }
+                tick(unixMillis).latencyEvents.merge(event, number(sample.get(1)), Math::max);
+            }
+        }
+    }
+
+    // Lettuce has no LATENCY API, the nested reply is decoded with an explicit output
+    private List<Object> latency(String... args) {
+        CommandArgs<byte[], byte[]> commandArgs = new CommandArgs<>(ByteArrayCodec.INSTANCE);
+        for (String arg : args) {
+            commandArgs.add(arg);
+        }
+        List<Object> reply = RedisRegistry.nativeCommands(redisConfig, commands -> RedisRegistry.await(
+                commands.dispatch(Command.LATENCY, new NestedMultiOutput<>(ByteArrayCodec.INSTANCE), commandArgs)));
+        return reply == null ? List.of() : reply;
+    }
+
+    private void enableMonitoring() {
+        try (RedisConnection connection = RedisRegistry.getConnection(redisConfig)) {
+            previousConfig.putAll(connection.serverCommands().getConfig("slowlog-log-slower-than"));
+            previousConfig.putAll(connection.serverCommands().getConfig("latency-monitor-threshold"));
+            connection.serverCommands().setConfig("slowlog-log-slower-than", SLOWLOG_MICROS);
+            connection.serverCommands().setConfig("latency-monitor-threshold", LATENCY_THRESHOLD_MS);
+        } catch (RuntimeException e) {
+            log.warn("Cannot enable Redis slowlog and latency monitor, sampling with server settings: {}", e.getMessage());
+        }
+    }
+
+    private void restoreMonitoring() {
+        try (RedisConnection connection = RedisRegistry.getConnection(redisConfig)) {
+            previousConfig.forEach((key, value) -> connection.serverCommands().setConfig(key.toString(), value.toString()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to restore Redis monitoring settings {}: {}", previousConfig, e.getMessage());
+        }
+    }
+
+    private Tick tick(long unixMillis) {
+        long second = Math.max(0, (unixMillis - startMillis) / 1000);
+        return timeline.computeIfAbsent(second, s -> new Tick());
+    }
+
+    private synchronized void logTimeline() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%6s %9s %9s %9s | %7s %10s  %-60s | %s%n",
+                "t s", "Requests", "p99 ms", "max ms", "Slowlog", "Slowest ms", "Slowest command", "Latency events ms"));
+
+        timeline.forEach((second, tick) -> report.append(String.format("%6d %9d %9.2f %9.2f | %7d %10.2f  %-60s | %s%n",
+                second,
+                tick.client.getTotalCount(),
+                tick.client.getValueAtPercentile(99) / 1_000_000.0,
+                tick.client.getMaxValue() / 1_000_000.0,
+                tick.slowCommands,
+                tick.slowestMicros / 1000.0,
+                tick.slowestCommand,
+                tick.latencyEvents.isEmpty() ? "" : tick.latencyEvents)));
+
+        log.info("Redis {}:{} during load run:\n{}", redisConfig.getUrl(), redisConfig.getPort(), report);
+    }
+
+    private static String command(List<?> args) {
+        List<String> parts = new ArrayList<>(args.size());
+        args.forEach(arg -> parts.add(text(arg)));
+        String command = String.join(" ", parts);
+        return command.length() <= COMMAND_CHARS ? command : command.substring(0, COMMAND_CHARS - 3) + "...";
+    }
+
+    private static long number(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    private static String text(Object value) {
+        return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
+    public interface Sampling extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SlowCommand {
+        private final long id;
+        private final long unixSeconds;
+        private final long micros;
+        private final String command;
+    }
+
+    private enum Command implements ProtocolKeyword {
+        LATENCY;
+
+        @Override
+        public byte[] getBytes() {
+            return name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static class Tick {
+        private final Histogram client = new Histogram(TimeUnit.MINUTES.toNanos(5), 3);
+        private final Map<String, Long> latencyEvents = new TreeMap<>();
+        private long slowCommands;
+        private long slowestMicros;
+        private String slowestCommand = "";
+    }
+}
@@ -0,0 +1,175 @@
+package com.vcasino.tests.common.redis;
+
+import com.vcasino.tests.common.config.RedisConfig;
+import io.lettuce.core.RedisFuture;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+public final class RedisMemoryProfiler {
+
+    private static final int SCAN_COUNT = Integer.getInteger("vcasino.redis.scanCount", 500);
+    // Share of scanned keys measured with MEMORY USAGE, totals are scaled back up
+    private static final double SAMPLE_RATE = Double.parseDouble(System.getProperty("vcasino.redis.profileSampleRate", "1.0"));
+    private static final int LARGEST_KEYS = Integer.getInteger("vcasino.redis.profileLargestKeys", 3);
+
+    private RedisMemoryProfiler() {
+    }
+
+    public static Map<String, PrefixStats> profile(RedisConfig redisConfig, String pattern) {
+        return profile(redisConfig, List.of(pattern));
+    }
+
+    // Patterns are expected not to overlap, a key matched by two of them is counted twice
+    public static Map<String, PrefixStats> profile(RedisConfig redisConfig, List<String> patterns) {
+        Map<String, PrefixStats> prefixes = new TreeMap<>();
+        for (String pattern : patterns) {
+            scan(redisConfig, pattern, prefixes);
+        }
+        return prefixes;
+    }
+
+    private static void scan(RedisConfig redisConfig, String pattern, Map<String, PrefixStats> prefixes) {
+        try (RedisConnection connection = RedisRegistry.getConnection(redisConfig);
+             Cursor<byte[]> cursor = connection.keyCommands()
+                     .scan(ScanOptions.scanOptions().match(pattern).count(SCAN_COUNT).build())) {
+
+            List<byte[]> batch = new ArrayList<>(SCAN_COUNT);
+            while (cursor.hasNext()) {
+                byte[] key = cursor.next();
+                prefixes.computeIfAbsent(prefix(text(key)), PrefixStats::new).keys++;
+                if (SAMPLE_RATE >= 1.0 || ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE) {
+                    batch.add(key);
+                }
+                if (batch.size() == SCAN_COUNT) {
+                    measure(redisConfig, batch, prefixes);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                measure(redisConfig, batch, prefixes);
+            }
+        }
+    }
+
+    public static void logReport(String label, Map<String, PrefixStats> prefixes) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-40s %9s %12s %10s  %-30s %s%n",
+                "Prefix", "Keys", "Bytes", "Avg bytes", "Encodings", "Largest keys"));
+
+        long totalKeys = 0;
+        long totalBytes = 0;
+        for (PrefixStats stats : prefixes.values()) {
+            totalKeys += stats.keys;
+            totalBytes += stats.getEstimatedBytes();
+            report.append(String.format("%-40s %9d %12d %10d  %-30s %s%n",
+                    stats.prefix, stats.keys, stats.getEstimatedBytes(), stats.getAverageBytes(),
+                    stats.encodings, stats.largestKeys()));
+        }
+        report.append(String.format("%-40s %9d %12d%n", "TOTAL", totalKeys, totalBytes));
+
+        log.info("Redis memory profile {} (sample rate {}):\n{}", label, SAMPLE_RATE, report);
+    }
+
+    // MEMORY USAGE and OBJECT ENCODING are pipelined per scan batch
+    private static void measure(RedisConfig redisConfig, List<byte[]> keys, Map<String, PrefixStats> prefixes) {
+        List<RedisFuture<?>> replies = RedisRegistry.nativeCommands(redisConfig, commands -> {
+            List<RedisFuture<?>> futures = new ArrayList<>(keys.size() * 2);
+            for (byte[] key : keys) {
+                futures.add(commands.memoryUsage(key));
+                futures.add(commands.objectEncoding(key));
+            }
+            return futures;
+        });
+
+        for (int i = 0; i < keys.size(); i++) {
+            String key = text(keys.get(i));
+            // Keys expired between SCAN and MEMORY USAGE reply with null
+            if (!(RedisRegistry.await(replies.get(i * 2)) instanceof Number bytes)) {
+                continue;
+            }
+            Object encoding = RedisRegistry.await(replies.get(i * 2 + 1));
+
+            PrefixStats stats = prefixes.get(prefix(key));
+            stats.record(key, bytes.longValue(), encoding == null ? "none" : text(encoding));
+        }
+    }
+
+    // match::123 and market:550e8400-... collapse to match::{id} and market:{id}
+    static String prefix(String key) {
+        StringBuilder prefix = new StringBuilder(key.length());
+        int from = 0;
+        while (from <= key.length()) {
+            int to = key.indexOf(':', from);
+            if (to < 0) to = key.length();
+            String segment = key.substring(from, to);
+            prefix.append(isId(segment) ? "{id}" : segment);
+            if (to < key.length()) prefix.append(':');
+            from = to + 1;
+        }
+        return prefix.toString();
+    }
+
+    private static boolean isId(String segment) {
+        if (segment.isEmpty()) return false;
+        boolean digitsOnly = segment.chars().allMatch(Character::isDigit);
+        boolean uuid = segment.length() == 36 && segment.chars().allMatch(c -> c == '-' || Character.digit(c, 16) >= 0);
+        return digitsOnly || uuid;
+    }
+
+    private static String text(Object value) {
+        return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
+    @Getter
+    public static class PrefixStats {
+        private final String prefix;
+        private final Map<String, Long> encodings = new TreeMap<>();
+        private final PriorityQueue<Map.Entry<String, Long>> largest = new PriorityQueue<>(Map.Entry.comparingByValue());
+        private long keys;
+        private long measuredKeys;
+        private long measuredBytes;
+
+        private PrefixStats(String prefix) {
+            this.prefix = prefix;
+        }
+
+        private void record(String key, long bytes, String encoding) {
+            measuredKeys++;
+            measuredBytes += bytes;
+            encodings.merge(encoding, 1L, Long::sum);
+            largest.add(Map.entry(key, bytes));
+            if (largest.size() > LARGEST_KEYS) {
+                largest.poll();
+            }
+        }
+
+        public long getEstimatedBytes() {
+            return measuredKeys == 0 ? 0 : measuredBytes * keys / measuredKeys;
+        }
+
+        public long getAverageBytes() {
+            return measuredKeys == 0 ? 0 : measuredBytes / measuredKeys;
+        }
+
+        private String largestKeys() {
+            return largest.stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                    .map(entry -> entry.getKey() + "=" + entry.getValue())
+                    .toList()
+                    .toString();
+        }
+    }
+}
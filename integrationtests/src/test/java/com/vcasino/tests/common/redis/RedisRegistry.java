@@ -0,0 +1,88 @@
+package com.vcasino.tests.common.redis;
+
+import com.vcasino.tests.common.config.RedisConfig;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Slf4j
+public final class RedisRegistry {
+
+    private static final long COMMAND_TIMEOUT_MS = Long.getLong("vcasino.redis.commandTimeoutMs", 5000);
+
+    private static final Map<RedisConfig, LettuceConnectionFactory> FACTORIES = new ConcurrentHashMap<>();
+
+    private RedisRegistry() {
+    }
+
+    public static LettuceConnectionFactory get(RedisConfig redisConfig) {
+        return FACTORIES.computeIfAbsent(redisConfig, RedisRegistry::createFactory);
+    }
+
+    // Commands go over the factory's shared native connection, closing the returned connection does not disconnect
+    public static RedisConnection getConnection(RedisConfig redisConfig) {
+        return get(redisConfig).getConnection();
+    }
+
+    public static List<Object> pipelined(RedisConfig redisConfig, Consumer<RedisConnection> commands) {
+        try (RedisConnection connection = getConnection(redisConfig)) {
+            connection.openPipeline();
+            try {
+                commands.accept(connection);
+            } catch (RuntimeException e) {
+                connection.closePipeline();
+                throw e;
+            }
+            return connection.closePipeline();
+        }
+    }
+
+    // Spring decodes commands it has no type hint for (MEMORY, OBJECT, SLOWLOG, LATENCY) as raw bytes, those go
+    // through the native Lettuce commands instead. Async commands on the shared connection are pipelined on the wire.
+    @SuppressWarnings("unchecked")
+    public static <T> T nativeCommands(RedisConfig redisConfig,
+                                       Function<RedisClusterAsyncCommands<byte[], byte[]>, T> commands) {
+        try (RedisConnection connection = getConnection(redisConfig)) {
+            return commands.apply((RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection());
+        }
+    }
+
+    public static <T> T await(RedisFuture<T> future) {
+        return LettuceFutures.awaitOrCancel(future, COMMAND_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public static void closeAll() {
+        FACTORIES.values().forEach(LettuceConnectionFactory::destroy);
+        FACTORIES.clear();
+    }
+
+    private static LettuceConnectionFactory createFactory(RedisConfig redisConfig) {
+        log.info("Create Redis connection factory for {}:{}", redisConfig.getUrl(), redisConfig.getPort());
+
+        RedisStandaloneConfiguration standaloneConfig = new RedisStandaloneConfiguration(redisConfig.getUrl(),
+                redisConfig.getPort());
+        standaloneConfig.setPassword(redisConfig.getPassword());
+
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofMillis(COMMAND_TIMEOUT_MS))
+                .build();
+
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(standaloneConfig, clientConfig);
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+}
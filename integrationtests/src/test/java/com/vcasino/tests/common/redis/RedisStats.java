@@ -0,0 +1,70 @@
+package com.vcasino.tests.common.redis;
+
+import com.vcasino.tests.common.config.RedisConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+@Slf4j
+public final class RedisStats {
+
+    public static final boolean ENABLED = Boolean.getBoolean("vcasino.redis.stats");
+
+    private static final String[] COUNTERS = {"keyspace_hits", "keyspace_misses", "evicted_keys", "expired_keys", "used_memory"};
+
+    private RedisStats() {
+    }
+
+    public static Map<String, Long> snapshot(RedisConfig redisConfig) {
+        Map<String, Long> snapshot = new HashMap<>();
+        try (RedisConnection connection = RedisRegistry.getConnection(redisConfig)) {
+            Properties info = new Properties();
+            info.putAll(connection.serverCommands().info("stats"));
+            info.putAll(connection.serverCommands().info("memory"));
+            for (String counter : COUNTERS) {
+                snapshot.put(counter, Long.parseLong(info.getProperty(counter, "0").trim()));
+            }
+
+            // db0:keys=12,expires=3,avg_ttl=0
+            long keys = 0;
+            for (Object value : connection.serverCommands().info("keyspace").values()) {
+                for (String field : value.toString().split(",")) {
+                    if (field.startsWith("keys=")) {
+                        keys += Long.parseLong(field.substring(5).trim());
+                    }
+                }
+            }
+            snapshot.put("keys", keys);
+        }
+        return snapshot;
+    }
+
+    // Redis counters are instance wide and cannot be split per endpoint, so the hit ratio is reported once for the
+    // whole test and the endpoint rows only list which requests were sent while the counters moved
+    public static void logDelta(String label, Map<String, Long> before, Map<String, Long> after,
+                                Map<String, Long> endpointRequests) {
+        long hits = delta("keyspace_hits", before, after);
+        long misses = delta("keyspace_misses", before, after);
+        long lookups = hits + misses;
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("hits %d, misses %d, hit ratio %s, evicted %d, expired %d, keys %+d, used_memory %+d bytes%n",
+                hits, misses, lookups == 0 ? "-" : "%.1f%%".formatted(100.0 * hits / lookups),
+                delta("evicted_keys", before, after), delta("expired_keys", before, after),
+                delta("keys", before, after), delta("used_memory", before, after)));
+
+        if (!endpointRequests.isEmpty()) {
+            report.append(String.format("requests sent meanwhile:%n"));
+            endpointRequests.forEach((endpoint, requests) -> report.append(String.format("  %-60s %8d%n", endpoint, requests)));
+        }
+
+        log.info("Redis cache effect of {}:\n{}", label, report);
+    }
+
+    private static long delta(String counter, Map<String, Long> before, Map<String, Long> after) {
+        return after.getOrDefault(counter, 0L) - before.getOrDefault(counter, 0L);
+    }
+}
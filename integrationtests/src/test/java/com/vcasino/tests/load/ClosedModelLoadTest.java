@@ -0,0 +1,28 @@
+package com.vcasino.tests.load;
+
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.testng.Assert.assertTrue;
+
+public class ClosedModelLoadTest {
+
+    @Test(groups = "load", description = "Virtual thread players run scripted sessions in a closed loop")
+    void closedModelLoad() throws Exception {
+        LoadConfig loadConfig = LoadConfig.builder()
+                .players(Integer.getInteger("vcasino.load.players", 100))
+                .rampUp(Duration.ofSeconds(Long.getLong("vcasino.load.rampUpSec", 10)))
+                .duration(Duration.ofSeconds(Long.getLong("vcasino.load.durationSec", 60)))
+                .thinkTime(Duration.ofMillis(Long.getLong("vcasino.load.thinkTimeMs", 1000)))
+                .build();
+        double maxErrorRate = Double.parseDouble(System.getProperty("vcasino.load.maxErrorRate", "0.01"));
+
+        LoadFixture fixture = new LoadFixture().prepare();
+        LoadStats stats = new ClosedModelRunner(loadConfig).run(() -> new PlayerSession(fixture));
+
+        assertTrue(stats.getTotalOperations() > 0, "No operations were executed");
+        assertTrue(stats.getErrorRate() <= maxErrorRate,
+                "Error rate %.4f exceeds %.4f".formatted(stats.getErrorRate(), maxErrorRate));
+    }
+}
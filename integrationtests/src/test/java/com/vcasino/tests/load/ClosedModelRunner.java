@@ -0,0 +1,92 @@
+package com.vcasino.tests.load;
+
+import com.vcasino.tests.common.GenericTest;
+import com.vcasino.tests.common.redis.RedisLoadSampler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+@Slf4j
+public class ClosedModelRunner {
+
+    private final LoadConfig config;
+    private final LoadStats stats = new LoadStats();
+    private final AtomicInteger activePlayers = new AtomicInteger();
+    private final AtomicInteger failedSetups = new AtomicInteger();
+
+    public ClosedModelRunner(LoadConfig config) {
+        this.config = config;
+    }
+
+    public LoadStats run(Supplier<? extends Scenario> scenarios) {
+        log.info("Start closed model load: {} players, ramp-up {}, duration {}, think time {}",
+                config.getPlayers(), config.getRampUp(), config.getDuration(), config.getThinkTime());
+
+        long start = System.nanoTime();
+        long deadline = start + config.getDuration().toNanos();
+        long rampStep = config.getRampUp().toNanos() / Math.max(1, config.getPlayers());
+
+        RedisLoadSampler.Sampling sampling = RedisLoadSampler.start(GenericTest.allRedisConfigs());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.getPlayers(); i++) {
+                long startAt = start + i * rampStep;
+                executor.submit(() -> runPlayer(scenarios, startAt, deadline));
+            }
+        } finally {
+            sampling.close();
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Players finished, {} of {} failed setup", failedSetups.get(), config.getPlayers());
+        stats.logReport(elapsed);
+
+        return stats;
+    }
+
+    private void runPlayer(Supplier<? extends Scenario> scenarios, long startAt, long deadline) {
+        parkUntil(startAt);
+        if (System.nanoTime() >= deadline) {
+            return;
+        }
+
+        Scenario scenario;
+        try {
+            scenario = scenarios.get();
+            scenario.setup(stats);
+        } catch (Exception | AssertionError e) {
+            failedSetups.incrementAndGet();
+            log.warn("Player setup failed: {}", e.getMessage());
+            return;
+        }
+
+        activePlayers.incrementAndGet();
+        try {
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                try {
+                    scenario.iteration(stats);
+                } catch (Exception | AssertionError e) {
+                    log.warn("Player iteration failed: {}", e.getMessage());
+                }
+                parkUntil(Math.min(deadline, System.nanoTime() + config.getThinkTime().toNanos()));
+            }
+        } finally {
+            activePlayers.decrementAndGet();
+        }
+    }
+
+    public int getActivePlayers() {
+        return activePlayers.get();
+    }
+
+    private void parkUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
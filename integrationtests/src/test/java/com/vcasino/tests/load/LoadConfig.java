@@ -0,0 +1,22 @@
+package com.vcasino.tests.load;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LoadConfig {
+    Integer players;
+    Duration rampUp;
+    Duration duration;
+    Duration thinkTime;
+}
@@ -0,0 +1,41 @@
+package com.vcasino.tests.load;
+
+import com.vcasino.tests.common.Service;
+import com.vcasino.tests.model.AuthenticationResponse;
+import com.vcasino.tests.services.bet.GenericBetTest;
+import com.vcasino.tests.services.bet.model.Match;
+import com.vcasino.tests.services.bet.model.dto.MarketDto;
+import com.vcasino.tests.services.bet.model.dto.MarketsByCategory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Slf4j
+@Getter
+public class LoadFixture extends GenericBetTest {
+
+    private Match match;
+    private List<MarketDto> markets;
+
+    public LoadFixture prepare() throws Exception {
+        log.info("Prepare load fixture");
+
+        init(Service.BET);
+        authorizeAdmin();
+        match = addMatch(getAttrsWithAuthorization(true));
+
+        markets = Arrays.stream(performHttpGet("/api/v1/bet/matches/" + match.getId(), getDefaultAttrs(),
+                        MarketsByCategory[].class))
+                .flatMap(item -> item.getMarketPairs().stream())
+                .flatMap(marketPair -> marketPair.getMarkets().stream())
+                .toList();
+
+        return this;
+    }
+
+    public AuthenticationResponse getAdminAuth() {
+        return adminAuth;
+    }
+}
@@ -0,0 +1,97 @@
+package com.vcasino.tests.load;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public class LoadStats {
+
+    private final Map<String, StepStats> steps = new ConcurrentHashMap<>();
+
+    public <T> T record(String step, Callable<T> action) throws Exception {
+        StepStats stats = steps.computeIfAbsent(step, StepStats::new);
+        long start = System.nanoTime();
+        try {
+            T result = action.call();
+            stats.success(System.nanoTime() - start);
+            return result;
+        } catch (Exception | AssertionError e) {
+            stats.error(System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    public long getTotalOperations() {
+        return steps.values().stream().mapToLong(StepStats::operations).sum();
+    }
+
+    public long getTotalErrors() {
+        return steps.values().stream().mapToLong(s -> s.getErrors().sum()).sum();
+    }
+
+    public double getErrorRate() {
+        long operations = getTotalOperations();
+        return operations == 0 ? 0 : (double) getTotalErrors() / operations;
+    }
+
+    public void logReport(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-16s %10s %10s %10s %10s %12s%n",
+                "Step", "Ops", "Errors", "Error %", "Ops/s", "Mean ms"));
+
+        for (StepStats step : new TreeMap<>(steps).values()) {
+            long operations = step.operations();
+            report.append(String.format("%-16s %10d %10d %10.2f %10.1f %12.2f%n",
+                    step.getName(),
+                    operations,
+                    step.getErrors().sum(),
+                    operations == 0 ? 0 : 100.0 * step.getErrors().sum() / operations,
+                    operations / seconds,
+                    operations == 0 ? 0 : step.getTotalNanos().sum() / 1_000_000.0 / operations));
+            step.getErrorTypes().forEach((type, count) ->
+                    report.append(String.format("    %-40s %d%n", type, count.sum())));
+        }
+
+        report.append(String.format("Total: %d ops, %d errors (%.2f%%), %.1f ops/s over %.1f s",
+                getTotalOperations(), getTotalErrors(), getErrorRate() * 100, getTotalOperations() / seconds, seconds));
+
+        log.info("Load report:\n{}", report);
+    }
+
+    @Getter
+    static class StepStats {
+        private final String name;
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final Map<String, LongAdder> errorTypes = new ConcurrentHashMap<>();
+
+        StepStats(String name) {
+            this.name = name;
+        }
+
+        void success(long nanos) {
+            successes.increment();
+            totalNanos.add(nanos);
+        }
+
+        void error(long nanos, Throwable e) {
+            errors.increment();
+            totalNanos.add(nanos);
+            errorTypes.computeIfAbsent(e.getClass().getSimpleName(), k -> new LongAdder()).increment();
+        }
+
+        long operations() {
+            return successes.sum() + errors.sum();
+        }
+    }
+}
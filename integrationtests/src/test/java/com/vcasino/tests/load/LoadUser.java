@@ -0,0 +1,37 @@
+package com.vcasino.tests.load;
+
+import com.vcasino.tests.common.Service;
+import com.vcasino.tests.model.AuthenticationResponse;
+import com.vcasino.tests.services.clicker.GenericClickerTest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+public final class LoadUser extends GenericClickerTest {
+
+    public LoadUser() {
+        init(Service.CLICKER);
+    }
+
+    public static List<AuthenticationResponse> registerAll(int count) throws Exception {
+        log.info("Register {} load users", count);
+
+        List<Future<AuthenticationResponse>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                futures.add(executor.submit(() -> new LoadUser().createNewUser()));
+            }
+        }
+
+        List<AuthenticationResponse> users = new ArrayList<>(count);
+        for (Future<AuthenticationResponse> future : futures) {
+            users.add(future.get());
+        }
+        return users;
+    }
+}
@@ -0,0 +1,52 @@
+package com.vcasino.tests.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+@Slf4j
+@Getter
+@AllArgsConstructor
+public class OpenModelResult {
+
+    // Measured from the scheduled send time, includes any time the request waited to be sent
+    private final Histogram latency;
+    // Measured from the actual send time, what a closed loop would have reported
+    private final Histogram serviceTime;
+    private final long scheduled;
+    private final long successes;
+    private final long errors;
+    private final long maxSendLagNanos;
+    private final Duration elapsed;
+
+    public double getErrorRate() {
+        long completed = successes + errors;
+        return completed == 0 ? 0 : (double) errors / completed;
+    }
+
+    public void logReport(String name) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Scheduled %d, succeeded %d, failed %d, achieved %.1f req/s, max send lag %.2f ms%n",
+                scheduled, successes, errors, (successes + errors) / seconds, maxSendLagNanos / 1_000_000.0));
+        report.append(String.format("%-14s %10s %10s %10s %10s %10s%n", "", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        appendPercentiles(report, "latency", latency);
+        appendPercentiles(report, "service time", serviceTime);
+
+        log.info("Open model report for {}:\n{}", name, report);
+    }
+
+    private void appendPercentiles(StringBuilder report, String label, Histogram histogram) {
+        report.append(String.format("%-14s %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                label,
+                histogram.getValueAtPercentile(50) / 1_000_000.0,
+                histogram.getValueAtPercentile(90) / 1_000_000.0,
+                histogram.getValueAtPercentile(99) / 1_000_000.0,
+                histogram.getValueAtPercentile(99.9) / 1_000_000.0,
+                histogram.getMaxValue() / 1_000_000.0));
+    }
+}
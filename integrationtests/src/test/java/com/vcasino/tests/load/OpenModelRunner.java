@@ -0,0 +1,131 @@
+package com.vcasino.tests.load;
+
+import com.vcasino.tests.common.GenericTest;
+import com.vcasino.tests.common.metrics.EndpointLatencies;
+import com.vcasino.tests.common.redis.RedisLoadSampler;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Recorder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+@Slf4j
+public class OpenModelRunner implements AutoCloseable {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final String OPEN_MODEL_ENDPOINT = "OPEN MODEL (from intended start)";
+
+    private final OpenModelConfig config;
+    private final ConnectionProvider connectionProvider;
+    @Getter
+    private final WebClient webClient;
+
+    public OpenModelRunner(OpenModelConfig config, String baseUrl) {
+        this.config = config;
+        this.connectionProvider = ConnectionProvider.builder("open-model")
+                .maxConnections(config.getMaxConnections())
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(config.getTimeout())
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .responseTimeout(config.getTimeout());
+
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    // Issues request i at start + i / rate regardless of how many earlier requests are still in flight
+    public OpenModelResult run(LongFunction<Mono<?>> requests) throws InterruptedException {
+        log.info("Start open model load: {} req/s for {}", config.getRatePerSecond(), config.getDuration());
+
+        Recorder latency = new Recorder(MAX_TRACKABLE_NANOS, 3);
+        Recorder serviceTime = new Recorder(MAX_TRACKABLE_NANOS, 3);
+        LongAdder successes = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicLong inFlight = new AtomicLong();
+        LongAccumulator maxSendLag = new LongAccumulator(Math::max, 0);
+
+        double periodNanos = 1_000_000_000.0 / config.getRatePerSecond();
+        long total = (long) (config.getDuration().toNanos() / periodNanos);
+        long start = System.nanoTime();
+        RedisLoadSampler.Sampling sampling = RedisLoadSampler.start(GenericTest.allRedisConfigs());
+        try {
+            for (long i = 0; i < total; i++) {
+                long intended = start + (long) (i * periodNanos);
+                parkUntil(intended);
+
+                long sent = System.nanoTime();
+                maxSendLag.accumulate(sent - intended);
+                inFlight.incrementAndGet();
+
+                requests.apply(i).subscribe(
+                        response -> {
+                        },
+                        e -> {
+                            record(latency, serviceTime, intended, sent);
+                            errors.increment();
+                            inFlight.decrementAndGet();
+                            log.debug("Request failed: {}", e.getMessage());
+                        },
+                        () -> {
+                            record(latency, serviceTime, intended, sent);
+                            successes.increment();
+                            inFlight.decrementAndGet();
+                        });
+            }
+
+            long drainDeadline = System.nanoTime() + config.getTimeout().toNanos();
+            while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+                Thread.sleep(10);
+            }
+            if (inFlight.get() > 0) {
+                log.warn("{} requests still in flight after drain timeout", inFlight.get());
+            }
+        } finally {
+            sampling.close();
+        }
+
+        return new OpenModelResult(
+                latency.getIntervalHistogram(),
+                serviceTime.getIntervalHistogram(),
+                total,
+                successes.sum(),
+                errors.sum(),
+                maxSendLag.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    @Override
+    public void close() {
+        connectionProvider.dispose();
+    }
+
+    private void record(Recorder latency, Recorder serviceTime, long intended, long sent) {
+        long now = System.nanoTime();
+        latency.recordValue(Math.min(now - intended, MAX_TRACKABLE_NANOS));
+        // Puts open model requests on the timeline the Redis sampler aligns with
+        EndpointLatencies.record(OPEN_MODEL_ENDPOINT, now - intended);
+        serviceTime.recordValue(Math.min(now - sent, MAX_TRACKABLE_NANOS));
+    }
+
+    private void parkUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.vcasino.tests.load;
+
+import com.vcasino.tests.common.Service;
+import com.vcasino.tests.model.AuthenticationResponse;
+import com.vcasino.tests.services.clicker.GenericClickerTest;
+import org.springframework.http.MediaType;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.testng.Assert.assertTrue;
+
+public class OpenModelTapLoadTest extends GenericClickerTest {
+
+    @BeforeTest(alwaysRun = true)
+    void setup() {
+        init(Service.CLICKER);
+    }
+
+    @Test(groups = "load", description = "Constant arrival rate of tap requests")
+    void constantArrivalRateTap() throws Exception {
+        OpenModelConfig openModelConfig = OpenModelConfig.builder()
+                .ratePerSecond(Integer.getInteger("vcasino.load.ratePerSecond", 2000))
+                .duration(Duration.ofSeconds(Long.getLong("vcasino.load.durationSec", 60)))
+                .maxConnections(Integer.getInteger("vcasino.load.maxConnections", 500))
+                .timeout(Duration.ofSeconds(Long.getLong("vcasino.load.timeoutSec", 30)))
+                .build();
+        double maxErrorRate = Double.parseDouble(System.getProperty("vcasino.load.maxErrorRate", "0.01"));
+
+        List<AuthenticationResponse> users = LoadUser.registerAll(Integer.getInteger("vcasino.load.users", 200));
+        sleep(1000);
+
+        OpenModelResult result;
+        try (OpenModelRunner runner = new OpenModelRunner(openModelConfig, config.getAddress() + ":" + config.getPort())) {
+            result = runner.run(i -> {
+                String token = users.get((int) (i % users.size())).getToken();
+                String body = "{\"amount\": 1,\"availableTaps\": 0,\"timestamp\": %s}"
+                        .formatted(Instant.now().getEpochSecond());
+
+                return runner.getWebClient().post()
+                        .uri(buildUrl("/tap"))
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(body)
+                        .retrieve()
+                        .toBodilessEntity();
+            });
+        }
+
+        result.logReport("POST " + buildUrl("/tap"));
+        assertTrue(result.getErrorRate() <= maxErrorRate,
+                "Error rate %.4f exceeds %.4f".formatted(result.getErrorRate(), maxErrorRate));
+    }
+}
@@ -0,0 +1,79 @@
+package com.vcasino.tests.load;
+
+import com.vcasino.tests.common.Service;
+import com.vcasino.tests.model.Response;
+import com.vcasino.tests.services.bet.model.dto.MarketDto;
+import com.vcasino.tests.services.clicker.GenericClickerTest;
+import com.vcasino.tests.services.clicker.model.Account;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.testng.Assert.assertTrue;
+
+public final class PlayerSession extends GenericClickerTest implements Scenario {
+
+    private static final String VCOINS_TO_VDOLLARS_URL = "/api/v1/clicker/currency/vcoins/vdollars";
+    private static final long CONVERSION_COINS = 100_000;
+    private static final long FUNDED_CONVERSIONS = 10_000;
+
+    private final LoadFixture fixture;
+    private Account account;
+    private long lastTapSecond;
+
+    public PlayerSession(LoadFixture fixture) {
+        init(Service.CLICKER);
+        this.fixture = fixture;
+        this.adminAuth = fixture.getAdminAuth();
+    }
+
+    @Override
+    public void setup(LoadStats stats) throws Exception {
+        account = stats.record("createAccount", () -> createAccount().getAccount());
+        lastTapSecond = Instant.now().getEpochSecond();
+        stats.record("addCoins", this::addCoins);
+        stats.record("convert", this::convert);
+    }
+
+    @Override
+    public void iteration(LoadStats stats) throws Exception {
+        stats.record("tap", this::tap);
+        stats.record("placeBet", this::placeBet);
+        stats.record("convert", this::convert);
+    }
+
+    private String addCoins() throws Exception {
+        String body = "{\"accountId\":%s,\"addCoins\":%s}".formatted(accountId, CONVERSION_COINS * FUNDED_CONVERSIONS);
+        return performHttpPost("/api/v1/clicker/admin/accounts/improve", body, getAttrsWithAuthorization(true));
+    }
+
+    private Account tap() throws Exception {
+        long now = Instant.now().getEpochSecond();
+        int recovered = (int) (now - lastTapSecond) * account.getTapsRecoverPerSec();
+        int amount = Math.min(account.getMaxTaps(), account.getAvailableTaps() + recovered);
+
+        account = sendTapRequest(amount, 0, now);
+        lastTapSecond = now;
+        return account;
+    }
+
+    private String convert() throws Exception {
+        String body = objToJson(Map.of("amount", String.valueOf(CONVERSION_COINS)));
+        return performHttpPost(VCOINS_TO_VDOLLARS_URL, body, getAttrsWithAuthorization());
+    }
+
+    private Response placeBet() throws Exception {
+        MarketDto market = fixture.getMarkets().get(ThreadLocalRandom.current().nextInt(fixture.getMarkets().size()));
+        String body = objToJson(Map.of(
+                "marketId", market.getId().toString(),
+                "odds", market.getOdds().toString(),
+                "amount", "1.00",
+                "acceptAllOddsChanges", "true"
+        ));
+
+        Response response = jsonToObject(performHttpPost("/api/v1/bet/place", body, getAttrsWithAuthorization()));
+        assertTrue(response.getBoolean("betPlaced"));
+        return response;
+    }
+}
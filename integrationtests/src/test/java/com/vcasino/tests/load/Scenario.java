@@ -0,0 +1,8 @@
+package com.vcasino.tests.load;
+
+public interface Scenario {
+
+    void setup(LoadStats stats) throws Exception;
+
+    void iteration(LoadStats stats) throws Exception;
+}
@@ -0,0 +1,190 @@
+package com.vcasino.tests.model;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+public class ResultTable extends AbstractList<Row> implements RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Header header;
+    private final Column[] columns;
+    private int size;
+
+    public ResultTable(Header header) {
+        this.header = header;
+        this.columns = new Column[header.names.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Column.of(header.types[i]);
+        }
+    }
+
+    public static ResultTable read(ResultSet resultSet) throws SQLException {
+        ResultTable table = new ResultTable(Header.of(resultSet.getMetaData()));
+        while (resultSet.next()) {
+            table.append(resultSet);
+        }
+        return table;
+    }
+
+    public Header getHeader() {
+        return header;
+    }
+
+    public void append(ResultSet resultSet) throws SQLException {
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].read(resultSet, i + 1, size);
+        }
+        size++;
+    }
+
+    @Override
+    public Row get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Row " + index + " of " + size);
+        }
+        return new Row(this, index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public List<String> getColumnNames() {
+        return List.of(header.names);
+    }
+
+    Object value(int row, String column) {
+        Integer index = header.indexes.get(column);
+        if (index == null) return null;
+        return columns[index].get(row);
+    }
+
+    String rowToString(int row) {
+        StringBuilder sb = new StringBuilder("Row(");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(header.names[i]).append('=').append(columns[i].get(row));
+        }
+        return sb.append(')').toString();
+    }
+
+    public static final class Header {
+        private final String[] names;
+        private final int[] types;
+        private final Map<String, Integer> indexes;
+
+        private Header(String[] names, int[] types) {
+            this.names = names;
+            this.types = types;
+            this.indexes = new HashMap<>(names.length * 2);
+            for (int i = 0; i < names.length; i++) {
+                indexes.put(names[i], i);
+            }
+        }
+
+        public static Header of(ResultSetMetaData metaData) throws SQLException {
+            int count = metaData.getColumnCount();
+            String[] names = new String[count];
+            int[] types = new int[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = metaData.getColumnName(i + 1);
+                types[i] = metaData.getColumnType(i + 1);
+            }
+            return new Header(names, types);
+        }
+    }
+
+    private abstract static class Column {
+        final BitSet nulls = new BitSet();
+
+        static Column of(int sqlType) {
+            return switch (sqlType) {
+                case Types.BIGINT -> new LongColumn();
+                case Types.INTEGER, Types.SMALLINT -> new IntColumn();
+                case Types.BOOLEAN, Types.BIT -> new BooleanColumn();
+                default -> new ObjectColumn();
+            };
+        }
+
+        abstract void read(ResultSet resultSet, int columnIndex, int row) throws SQLException;
+
+        abstract Object get(int row);
+
+        static int grow(int length) {
+            return Math.max(INITIAL_CAPACITY, length + (length >> 1));
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        long[] values = new long[0];
+
+        @Override
+        void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            if (row == values.length) values = Arrays.copyOf(values, grow(values.length));
+            values[row] = resultSet.getLong(columnIndex);
+            if (resultSet.wasNull()) nulls.set(row);
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? null : values[row];
+        }
+    }
+
+    private static final class IntColumn extends Column {
+        int[] values = new int[0];
+
+        @Override
+        void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            if (row == values.length) values = Arrays.copyOf(values, grow(values.length));
+            values[row] = resultSet.getInt(columnIndex);
+            if (resultSet.wasNull()) nulls.set(row);
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? null : values[row];
+        }
+    }
+
+    private static final class BooleanColumn extends Column {
+        final BitSet values = new BitSet();
+
+        @Override
+        void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values.set(row, resultSet.getBoolean(columnIndex));
+            if (resultSet.wasNull()) nulls.set(row);
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? null : values.get(row);
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+        Object[] values = new Object[0];
+
+        @Override
+        void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            if (row == values.length) values = Arrays.copyOf(values, grow(values.length));
+            values[row] = resultSet.getObject(columnIndex);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.vcasino.tests.seed;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.util.PGobject;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+public class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_CHARS = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS * 2);
+    private long rows;
+
+    public CopyWriter(Connection connection, String table, List<String> columns) throws SQLException {
+        String sql = "COPY %s (%s) FROM STDIN".formatted(table, String.join(", ", columns));
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+    }
+
+    public void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) buffer.append('\t');
+            appendValue(values[i]);
+        }
+        buffer.append('\n');
+        rows++;
+
+        if (buffer.length() >= FLUSH_CHARS) {
+            flush();
+        }
+    }
+
+    public long finish() throws SQLException {
+        flush();
+        return copyIn.endCopy();
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.isEmpty()) return;
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    // COPY text format: \N for null, backslash escapes for the delimiter and line breaks
+    private void appendValue(Object value) {
+        if (value instanceof PGobject object) {
+            value = object.getValue();
+        }
+        if (value == null) {
+            buffer.append("\\N");
+            return;
+        }
+
+        String text = switch (value) {
+            case BigDecimal decimal -> decimal.toPlainString();
+            default -> value.toString();
+        };
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.vcasino.tests.seed;
+
+import com.vcasino.tests.common.GenericTest;
+import com.vcasino.tests.common.Service;
+import com.vcasino.tests.common.config.DbConfig;
+import com.vcasino.tests.common.db.DataSourceRegistry;
+import com.vcasino.tests.model.AuthenticationResponse;
+import com.vcasino.tests.model.Row;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongFunction;
+
+import static org.testng.Assert.assertEquals;
+
+// Column values are cloned from a prototype user registered through the API, so seeded rows match service defaults
+@Slf4j
+public final class DataSeeder extends GenericTest {
+
+    public static final String USERNAME_PREFIX = "it_user_seed_";
+
+    private DbConfig userDb;
+    private DbConfig clickerDb;
+    private DbConfig walletDb;
+
+    public DataSeeder() {
+        init(Service.USER);
+        userDb = config.getDbConfig();
+        clickerDb = getServiceConfig(Service.CLICKER).getDbConfig();
+        walletDb = getServiceConfig(Service.WALLET).getDbConfig();
+    }
+
+    public SeedRange seedUsers(int users) throws Exception {
+        AuthenticationResponse prototype = createNewUser();
+        Long prototypeId = getUserId(prototype.getUser().getUsername());
+        // Touch the clicker account and give the wallet consumer time to create the wallet
+        performHttpGet("/api/v1/clicker/accounts", getAttrsWithAuthorization());
+        sleep(1000);
+
+        Row user = single(executeQuery("SELECT * FROM my_user WHERE id = ?", userDb, prototypeId));
+        List<Row> tokens = executeQuery("SELECT * FROM token WHERE user_id = ?", userDb, prototypeId);
+        Row account = single(executeQuery("SELECT * FROM account WHERE id = ?", clickerDb, prototypeId));
+        Row wallet = single(executeQuery("SELECT * FROM wallet WHERE id = ?", walletDb, prototypeId));
+
+        long firstId = Math.max(maxId(userDb, "my_user"), Math.max(maxId(clickerDb, "account"), maxId(walletDb, "wallet"))) + 1;
+        SeedRange range = new SeedRange(firstId, firstId + users - 1);
+        log.info("Seed {} users with ids {}..{}", users, range.getFirstId(), range.getLastId());
+
+        copy(userDb, "my_user", user, range, Map.of(
+                "id", id -> id,
+                "username", DataSeeder::username,
+                "name", DataSeeder::username,
+                "email", id -> username(id) + "@test.com"));
+        for (Row token : tokens) {
+            copy(userDb, "token", token, range, Map.of(
+                    "user_id", id -> id,
+                    "token", id -> UUID.randomUUID().toString()));
+        }
+        copy(clickerDb, "account", account, range, Map.of(
+                "id", id -> id,
+                "username", DataSeeder::username));
+        copy(walletDb, "wallet", wallet, range, Map.of(
+                "id", id -> id));
+
+        syncSequence(userDb, "my_user");
+        syncSequence(clickerDb, "account");
+        syncSequence(walletDb, "wallet");
+
+        return range;
+    }
+
+    public static String username(long id) {
+        return USERNAME_PREFIX + id;
+    }
+
+    private void copy(DbConfig dbConfig, String table, Row prototype, SeedRange range,
+                      Map<String, LongFunction<Object>> overrides) throws SQLException {
+        // Generated key columns that are not overridden are left to their column default
+        List<String> columns = prototype.getColumnNames().stream()
+                .filter(column -> overrides.containsKey(column) || !column.equals("id"))
+                .toList();
+
+        long start = System.nanoTime();
+        long copied;
+        try (Connection connection = DataSourceRegistry.get(dbConfig).getConnection();
+             CopyWriter writer = new CopyWriter(connection, table, columns)) {
+
+            Object[] values = new Object[columns.size()];
+            for (long id = range.getFirstId(); id <= range.getLastId(); id++) {
+                for (int i = 0; i < values.length; i++) {
+                    LongFunction<Object> override = overrides.get(columns.get(i));
+                    values[i] = override != null ? override.apply(id) : prototype.getObject(columns.get(i));
+                }
+                writer.row(values);
+            }
+            copied = writer.finish();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        log.info("Copied {} rows into {} in {} s ({} rows/s)", copied, table,
+                "%.2f".formatted(seconds), "%.0f".formatted(copied / seconds));
+        assertEquals(copied, range.size(), "Rows copied into " + table);
+    }
+
+    private long maxId(DbConfig dbConfig, String table) {
+        Long max = single(executeQuery("SELECT COALESCE(MAX(id), 0) AS max_id FROM " + table, dbConfig)).getLong("max_id");
+        return max == null ? 0 : max;
+    }
+
+    private void syncSequence(DbConfig dbConfig, String table) {
+        // setval on a NULL sequence is a no-op, so tables with application-assigned ids are skipped
+        executeQuery("SELECT setval(pg_get_serial_sequence(?, 'id'), (SELECT MAX(id) FROM " + table + "))",
+                dbConfig, table);
+    }
+
+    private Row single(List<Row> rows) {
+        assertEquals(rows.size(), 1);
+        return rows.getFirst();
+    }
+}
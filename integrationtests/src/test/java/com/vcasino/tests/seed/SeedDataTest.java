@@ -0,0 +1,26 @@
+package com.vcasino.tests.seed;
+
+import com.vcasino.tests.common.GenericTest;
+import com.vcasino.tests.common.db.DatabaseSnapshots;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+@Slf4j
+public class SeedDataTest {
+
+    @Test(groups = "seed", description = "Bulk seed users, clicker accounts and wallets with COPY")
+    void seedUsers() throws Exception {
+        int users = Integer.getInteger("vcasino.seed.users", 100_000);
+        SeedRange range = new DataSeeder().seedUsers(users);
+        log.info("Seeded users {}..{}", range.getFirstId(), range.getLastId());
+    }
+
+    @Test(groups = "seed", dependsOnMethods = "seedUsers", description = "Snapshot seeded databases as templates")
+    void snapshotDatabases() {
+        if (!Boolean.parseBoolean(System.getProperty("vcasino.seed.snapshot", "true"))) {
+            throw new SkipException("Snapshot disabled");
+        }
+        DatabaseSnapshots.snapshotAll(GenericTest.allDbConfigs());
+    }
+}
@@ -0,0 +1,16 @@
+package com.vcasino.tests.seed;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SeedRange {
+
+    private final long firstId;
+    private final long lastId;
+
+    public long size() {
+        return lastId - firstId + 1;
+    }
+}
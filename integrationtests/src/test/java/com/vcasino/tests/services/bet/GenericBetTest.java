@@ -1,6 +1,7 @@
 package com.vcasino.tests.services.bet;
 
 import com.vcasino.tests.common.GenericTest;
+import com.vcasino.tests.common.http.MultipartBodyPublisher;
 import com.vcasino.tests.services.bet.model.Match;
 import com.vcasino.tests.services.bet.model.Participant;
 import com.vcasino.tests.services.bet.model.Tournament;
@@ -15,36 +16,41 @@ import java.util.Map;
 
 public abstract class GenericBetTest extends GenericTest {
 
+    // Returns the number of keys unlinked for the match list and for the match itself
+    protected long[] invalidateMatchCaches(Long matchId) {
+        long matches = redisInvalidate("matches")[0];
+        long match = redisInvalidate("match", matchId)[0] + redisInvalidate("markets", matchId)[0];
+        return new long[]{matches, match};
+    }
+
     protected List<String> getImageKeys(String folder) throws Exception {
         String res = performHttpGet("/api/v1/bet/admin/images/" + folder, getAttrsWithAuthorization(true));
         return Arrays.asList(fromJson(res, String[].class));
     }
 
     protected String addImage(Map<String, String> attrs, int status, String folder) throws Exception {
-        String boundary = "----WebKitFormBoundary7MA4YWxkTrZu0gW";
-        var builder = new StringBuilder();
-
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         URL resource = classLoader.getResource("betService/Counter-Strike.webp");
-        Path filePath = Paths.get(resource.toURI());
-        String fileName = filePath.getFileName().toString();
-        builder.append("--").append(boundary).append("\r\n");
-        builder.append("Content-Disposition: form-data; name=\"files\"; filename=\"")
-                .append(fileName).append("\"\r\n");
-        builder.append("Content-Type: application/octet-stream\r\n\r\n");
-        builder.append(new String(java.nio.file.Files.readAllBytes(filePath))).append("\r\n");
-
-        builder.append("--").append(boundary).append("--");
+        return addImage(Paths.get(resource.toURI()), attrs, status, folder);
+    }
 
-        attrs.put("Content-Type", "multipart/form-data; boundary=" + boundary);
+    protected String addImage(Path filePath, Map<String, String> attrs, int status, String folder) throws Exception {
+        MultipartBodyPublisher body = new MultipartBodyPublisher()
+                .addFile("files", filePath, "application/octet-stream");
 
-        String res = performHttpPost("/api/v1/bet/admin/images/upload/" + folder, builder.toString(), attrs, status);
+        String res = performHttpMultipart("/api/v1/bet/admin/images/upload/" + folder, body, attrs, status);
         if (status < 400) {
             return Arrays.asList(fromJson(res, String[].class)).getFirst();
         }
         return null;
     }
 
+    // Keys are listed either bare or prefixed with their folder
+    protected void deleteImage(String folder, String key, Map<String, String> attrs, int status) throws Exception {
+        String path = key.startsWith(folder + "/") ? key : folder + "/" + key;
+        performHttpDelete("/api/v1/bet/admin/images/" + path, attrs, status);
+    }
+
     protected Tournament addTournament(Map<String, String> attrs, int status) throws Exception {
         List<String> tournaments = getImageKeys("tournaments");
         String imageKey;
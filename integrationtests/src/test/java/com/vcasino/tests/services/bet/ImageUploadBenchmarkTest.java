@@ -0,0 +1,164 @@
+package com.vcasino.tests.services.bet;
+
+import com.vcasino.tests.common.Service;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Test;
+
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class ImageUploadBenchmarkTest extends GenericBetTest {
+
+    private static final String FOLDER = System.getProperty("vcasino.bench.uploadFolder", "participants");
+
+    // Keys of every image this benchmark uploaded, removed from the server afterwards
+    private final Queue<String> uploadedKeys = new ConcurrentLinkedQueue<>();
+
+    @BeforeTest(alwaysRun = true)
+    void setup() {
+        init(Service.BET);
+    }
+
+    @AfterClass(alwaysRun = true)
+    void deleteUploadedImages() {
+        if (uploadedKeys.isEmpty()) {
+            return;
+        }
+        var attrs = getAttrsWithAuthorization(true);
+        List<String> failed = new ArrayList<>();
+        for (String key : uploadedKeys) {
+            try {
+                deleteImage(FOLDER, key, attrs, 200);
+            } catch (Exception | AssertionError e) {
+                failed.add(key);
+            }
+        }
+        log.info("Deleted {} of {} benchmark images from {}", uploadedKeys.size() - failed.size(), uploadedKeys.size(), FOLDER);
+        if (!failed.isEmpty()) {
+            log.warn("Benchmark images left in {}: {}", FOLDER, failed);
+        }
+        uploadedKeys.clear();
+    }
+
+    @Test(groups = "benchmark", description = "Concurrent image upload throughput by file size")
+    void uploadThroughput() throws Exception {
+        int[] sizesKb = Arrays.stream(System.getProperty("vcasino.bench.uploadSizesKb", "16,256,1024,4096").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim()))
+                .toArray();
+        int uploads = Integer.getInteger("vcasino.bench.uploadsPerSize", 50);
+        int concurrency = Integer.getInteger("vcasino.bench.uploadConcurrency", 8);
+
+        authorizeAdmin();
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%10s %8s %10s %10s %10s %10s %10s%n",
+                "Size KiB", "Uploads", "MB/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+
+        for (int sizeKb : sizesKb) {
+            Path image = createImage(sizeKb * 1024L);
+            try {
+                Histogram latency = new Histogram(TimeUnit.MINUTES.toNanos(5), 3);
+                long start = System.nanoTime();
+                uploadConcurrently(image, FOLDER, uploads, concurrency, latency);
+                double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+                report.append(String.format("%10d %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                        sizeKb,
+                        uploads,
+                        Files.size(image) * uploads / 1_000_000.0 / seconds,
+                        latency.getValueAtPercentile(50) / 1_000_000.0,
+                        latency.getValueAtPercentile(90) / 1_000_000.0,
+                        latency.getValueAtPercentile(99) / 1_000_000.0,
+                        latency.getMaxValue() / 1_000_000.0));
+            } finally {
+                Files.deleteIfExists(image);
+            }
+        }
+
+        log.info("Image upload benchmark ({} concurrent uploads):\n{}", concurrency, report);
+    }
+
+    private void uploadConcurrently(Path image, String folder, int uploads, int concurrency, Histogram latency) throws Exception {
+        var attrs = getAttrsWithAuthorization(true);
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<?>> futures = new ArrayList<>(uploads);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < uploads; i++) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        long start = System.nanoTime();
+                        String key = addImage(image, attrs, 200, folder);
+                        long elapsed = System.nanoTime() - start;
+                        uploadedKeys.add(key);
+                        synchronized (latency) {
+                            latency.recordValue(elapsed);
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    // Pads the sample webp with an unknown RIFF chunk, decoders skip it and the container stays valid
+    private Path createImage(long targetSize) throws Exception {
+        URL resource = Thread.currentThread().getContextClassLoader().getResource("betService/Counter-Strike.webp");
+        Path source = Paths.get(resource.toURI());
+        Path image = Files.createTempFile("bench-" + targetSize / 1024 + "k-", ".webp");
+        Files.copy(source, image, StandardCopyOption.REPLACE_EXISTING);
+
+        long padding = Math.max(0, targetSize - Files.size(source) - 8) & ~1L;
+        try (FileChannel channel = FileChannel.open(image, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            header.put("PADD".getBytes()).putInt((int) padding).flip();
+            channel.write(header);
+
+            byte[] chunk = new byte[64 * 1024];
+            long remaining = padding;
+            while (remaining > 0) {
+                ThreadLocalRandom.current().nextBytes(chunk);
+                int length = (int) Math.min(chunk.length, remaining);
+                channel.write(ByteBuffer.wrap(chunk, 0, length));
+                remaining -= length;
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(image, StandardOpenOption.WRITE)) {
+            ByteBuffer riffSize = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            riffSize.putInt((int) (Files.size(image) - 8)).flip();
+            channel.write(riffSize, 4);
+        }
+
+        return image;
+    }
+}
@@ -0,0 +1,161 @@
+package com.vcasino.tests.services.bet;
+
+import com.vcasino.tests.common.Service;
+import com.vcasino.tests.common.config.DbConfig;
+import com.vcasino.tests.common.db.StatementStats;
+import com.vcasino.tests.services.bet.model.Match;
+import com.vcasino.tests.services.bet.model.Participant;
+import com.vcasino.tests.services.bet.model.Tournament;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class MatchCacheBenchmarkTest extends GenericBetTest {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    // Only bet database statements containing this text count as cache fall-through, empty counts every statement
+    private static final String QUERY_FILTER = System.getProperty("vcasino.bench.queryFilter", "");
+
+    private List<DbConfig> betDb;
+
+    @BeforeTest(alwaysRun = true)
+    void setup() {
+        init(Service.BET);
+        betDb = List.of(config.getDbConfig());
+    }
+
+    @Test(groups = "benchmark", description = "Cold, thundering herd and warm reads of the cached match endpoints")
+    void matchCacheReads() throws Exception {
+        int tournaments = Integer.getInteger("vcasino.bench.tournaments", 5);
+        int matchesPerTournament = Integer.getInteger("vcasino.bench.matchesPerTournament", 4);
+        int herdReaders = Integer.getInteger("vcasino.bench.herdReaders", 50);
+        int warmReads = Integer.getInteger("vcasino.bench.warmReads", 200);
+
+        authorizeAdmin();
+        List<Match> matches = seedMatches(tournaments, matchesPerTournament);
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-26s %-6s %7s %9s %9s %9s %9s %12s%n",
+                "Endpoint", "Phase", "Reads", "p50 ms", "p99 ms", "max ms", "cold/warm", "DB calls"));
+
+        benchmark("/api/v1/bet/matches", Map.of("/api/v1/bet/matches", () -> redisInvalidate("matches")),
+                herdReaders, warmReads, report);
+
+        Map<String, Runnable> matchUrls = new LinkedHashMap<>();
+        matches.forEach(match -> matchUrls.put("/api/v1/bet/matches/" + match.getId(), () -> invalidateMatchCaches(match.getId())));
+        benchmark("/api/v1/bet/matches/{id}", matchUrls, herdReaders, warmReads, report);
+
+        log.info("Match cache benchmark ({} tournaments, {} matches, {} herd readers):\n{}",
+                tournaments, matches.size(), herdReaders, report);
+    }
+
+    private List<Match> seedMatches(int tournaments, int matchesPerTournament) throws Exception {
+        var attrs = getAttrsWithAuthorization(true);
+        List<Match> matches = new ArrayList<>();
+        for (int t = 0; t < tournaments; t++) {
+            Tournament tournament = addTournament(attrs, 200);
+            for (int m = 0; m < matchesPerTournament; m++) {
+                Participant participant1 = addParticipant(attrs, 200);
+                Participant participant2 = addParticipant(attrs, 200);
+                matches.add(addMatch(tournament, participant1, participant2, attrs, 200));
+            }
+        }
+        log.info("Seeded {} matches in {} tournaments", matches.size(), tournaments);
+        return matches;
+    }
+
+    // Every url is read in every phase so per-key costs average out, each url comes with the invalidation of its keys
+    private void benchmark(String name, Map<String, Runnable> invalidations, int herdReaders, int warmReads,
+                           StringBuilder report) throws Exception {
+        List<String> urls = List.copyOf(invalidations.keySet());
+        Histogram cold = new Histogram(MAX_TRACKABLE_NANOS, 3);
+        Histogram herd = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+        Histogram warm = new Histogram(MAX_TRACKABLE_NANOS, 3);
+
+        long coldCalls = 0;
+        long herdCalls = 0;
+
+        for (String url : urls) {
+            invalidations.get(url).run();
+            StatementStats.Snapshot before = StatementStats.snapshot(betDb);
+            timedGet(url, cold);
+            coldCalls = add(coldCalls, dbCalls(before));
+        }
+
+        for (String url : urls) {
+            invalidations.get(url).run();
+            StatementStats.Snapshot before = StatementStats.snapshot(betDb);
+            readConcurrently(url, herdReaders, herd);
+            herdCalls = add(herdCalls, dbCalls(before));
+        }
+
+        StatementStats.Snapshot before = StatementStats.snapshot(betDb);
+        for (int i = 0; i < warmReads; i++) {
+            timedGet(urls.get(i % urls.size()), warm);
+        }
+        long warmCalls = dbCalls(before);
+
+        double coldWarm = (double) cold.getValueAtPercentile(50) / Math.max(1, warm.getValueAtPercentile(50));
+        appendRow(report, name, "cold", cold, "%.1fx".formatted(coldWarm), coldCalls);
+        appendRow(report, name, "herd", herd, "", herdCalls);
+        appendRow(report, name, "warm", warm, "", warmCalls);
+    }
+
+    // Readers are released together so they all find the key missing, herd DB calls well above the cold phase mean
+    // every reader fell through to Postgres instead of waiting for one load
+    private void readConcurrently(String url, int readers, Histogram latency) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(readers);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < readers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    timedGet(url, latency);
+                    return null;
+                }));
+            }
+            start.countDown();
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void timedGet(String url, Histogram latency) throws Exception {
+        long start = System.nanoTime();
+        performHttpGet(url, getDefaultAttrs());
+        latency.recordValue(Math.min(System.nanoTime() - start, MAX_TRACKABLE_NANOS));
+    }
+
+    // pg_stat_statements on the bet database, Redis misses also count reads the service never sends to Postgres
+    private long dbCalls(StatementStats.Snapshot before) {
+        return StatementStats.calls(before, StatementStats.snapshot(betDb), QUERY_FILTER);
+    }
+
+    // -1 marks pg_stat_statements as unavailable and sticks
+    private long add(long total, long calls) {
+        return total < 0 || calls < 0 ? -1 : total + calls;
+    }
+
+    private void appendRow(StringBuilder report, String name, String phase, Histogram latency, String ratio, long calls) {
+        report.append(String.format("%-26s %-6s %7d %9.2f %9.2f %9.2f %9s %12s%n",
+                name, phase, latency.getTotalCount(),
+                latency.getValueAtPercentile(50) / 1_000_000.0,
+                latency.getValueAtPercentile(99) / 1_000_000.0,
+                latency.getMaxValue() / 1_000_000.0,
+                ratio, calls < 0 ? "-" : String.valueOf(calls)));
+    }
+}
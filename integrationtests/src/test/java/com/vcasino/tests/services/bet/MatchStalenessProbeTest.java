@@ -0,0 +1,146 @@
+package com.vcasino.tests.services.bet;
+
+import com.vcasino.tests.common.Service;
+import com.vcasino.tests.services.bet.model.Match;
+import com.vcasino.tests.services.bet.model.Tournament;
+import com.vcasino.tests.services.bet.model.dto.MarketDto;
+import com.vcasino.tests.services.bet.model.dto.MarketsByCategory;
+import com.vcasino.tests.services.bet.model.dto.TournamentDto;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class MatchStalenessProbeTest extends GenericBetTest {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final int repetitions = Integer.getInteger("vcasino.bench.stalenessRepetitions", 20);
+    private final int readers = Integer.getInteger("vcasino.bench.stalenessReaders", 4);
+    private final long pollMs = Long.getLong("vcasino.bench.stalenessPollMs", 10);
+    private final long timeoutNanos = TimeUnit.SECONDS.toNanos(Long.getLong("vcasino.bench.stalenessTimeoutSec", 30));
+
+    @BeforeTest(alwaysRun = true)
+    void setup() {
+        init(Service.BET);
+    }
+
+    @Test(groups = "benchmark", description = "Time until public match list readers see a match created by an admin")
+    void createdMatchStaleness() throws Exception {
+        authorizeAdmin();
+        var adminAttrs = getAttrsWithAuthorization(true);
+        Tournament tournament = addTournament(adminAttrs, 200);
+
+        Staleness staleness = new Staleness();
+        for (int i = 0; i < repetitions; i++) {
+            // Warm read so a cached list exists that the mutation has to invalidate
+            getTournaments();
+            Match match = addMatch(tournament, addParticipant(adminAttrs, 200), addParticipant(adminAttrs, 200), adminAttrs, 200);
+            long mutatedAt = System.nanoTime();
+
+            staleness.record(mutatedAt, () -> getTournaments().stream()
+                    .flatMap(t -> t.getMatches().stream())
+                    .anyMatch(m -> m.getId().equals(match.getId())));
+        }
+
+        staleness.log("GET /api/v1/bet/matches after POST /api/v1/bet/admin/matches");
+    }
+
+    @Test(groups = "benchmark", description = "Time until public match readers see a market settled by an admin")
+    void settledMarketStaleness() throws Exception {
+        authorizeAdmin();
+        var adminAttrs = getAttrsWithAuthorization(true);
+
+        Staleness staleness = new Staleness();
+        for (int i = 0; i < repetitions; i++) {
+            Match match = addMatch(adminAttrs);
+            // Warm read so the match markets are cached before they change
+            Long marketId = getMarkets(match.getId()).getFirst().getId();
+
+            performHttpPost("/api/v1/bet/admin/markets/result",
+                    "{\"marketIds\": [%s], \"marketResult\": \"WIN\"}".formatted(marketId), adminAttrs);
+            long mutatedAt = System.nanoTime();
+
+            staleness.record(mutatedAt, () -> getMarkets(match.getId()).stream()
+                    .anyMatch(market -> market.getId().equals(marketId) && Boolean.TRUE.equals(market.getClosed())));
+        }
+
+        staleness.log("GET /api/v1/bet/matches/{id} after POST /api/v1/bet/admin/markets/result");
+    }
+
+    private List<TournamentDto> getTournaments() throws Exception {
+        return Arrays.asList(performHttpGet("/api/v1/bet/matches", getDefaultAttrs(), TournamentDto[].class));
+    }
+
+    private List<MarketDto> getMarkets(Long matchId) throws Exception {
+        return Arrays.stream(performHttpGet("/api/v1/bet/matches/" + matchId, getDefaultAttrs(), MarketsByCategory[].class))
+                .flatMap(item -> item.getMarketPairs().stream())
+                .flatMap(marketPair -> marketPair.getMarkets().stream())
+                .toList();
+    }
+
+    private class Staleness {
+        // Per reader, and per repetition until the slowest reader caught up
+        private final Histogram reader = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+        private final Histogram allReaders = new Histogram(MAX_TRACKABLE_NANOS, 3);
+        private long timeouts;
+
+        // Readers poll on virtual threads without touching Redis, the change has to reach them through the service
+        void record(long mutatedAt, Callable<Boolean> observed) throws Exception {
+            List<Future<Long>> futures = new ArrayList<>(readers);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < readers; i++) {
+                    futures.add(executor.submit(() -> {
+                        while (System.nanoTime() - mutatedAt < timeoutNanos) {
+                            if (observed.call()) {
+                                long staleNanos = System.nanoTime() - mutatedAt;
+                                reader.recordValue(Math.min(staleNanos, MAX_TRACKABLE_NANOS));
+                                return staleNanos;
+                            }
+                            Thread.sleep(pollMs);
+                        }
+                        return -1L;
+                    }));
+                }
+            }
+
+            long slowest = 0;
+            for (Future<Long> future : futures) {
+                long staleNanos = future.get();
+                if (staleNanos < 0) {
+                    timeouts++;
+                    return;
+                }
+                slowest = Math.max(slowest, staleNanos);
+            }
+            allReaders.recordValue(Math.min(slowest, MAX_TRACKABLE_NANOS));
+        }
+
+        void log(String name) {
+            String report = String.format("%-14s %8s %9s %9s %9s %9s%n", "", "Count", "p50 ms", "p90 ms", "p99 ms", "max ms")
+                    + row("per reader", reader)
+                    + row("all readers", allReaders);
+            log.info("Staleness of {} ({} repetitions, {} readers polling every {} ms, {} timed out):\n{}",
+                    name, repetitions, readers, pollMs, timeouts, report);
+        }
+
+        private String row(String name, Histogram histogram) {
+            return String.format("%-14s %8d %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50) / 1_000_000.0,
+                    histogram.getValueAtPercentile(90) / 1_000_000.0,
+                    histogram.getValueAtPercentile(99) / 1_000_000.0,
+                    histogram.getMaxValue() / 1_000_000.0);
+        }
+    }
+}
@@ -34,10 +34,10 @@ public class MatchTest extends GenericBetTest {
         var adminAttrs = getAttrsWithAuthorization(true);
 
         Match match = addMatch(adminAttrs);
-        redisFlushCache();
+        invalidateMatchCaches(match.getId());
 
-        String s = performHttpGet("/api/v1/bet/matches", getDefaultAttrs());
-        List<TournamentDto> response = Arrays.asList(fromJson(s, TournamentDto[].class));
+        List<TournamentDto> response = Arrays.asList(
+                performHttpGet("/api/v1/bet/matches", getDefaultAttrs(), TournamentDto[].class));
 
         Optional<TournamentDto> tournamentOpt = response.stream()
                 .filter(t -> t.getId().equals(match.getTournament().getId())).findFirst();
@@ -65,10 +65,10 @@ public class MatchTest extends GenericBetTest {
         authorizeAdmin();
 
         Match match = addMatch(getAttrsWithAuthorization(true));
-        redisFlushCache();
+        invalidateMatchCaches(match.getId());
 
-        String s = performHttpGet("/api/v1/bet/matches/" + match.getId(), getDefaultAttrs());
-        List<MarketsByCategory> marketsByCategory = Arrays.asList(fromJson(s, MarketsByCategory[].class));
+        List<MarketsByCategory> marketsByCategory = Arrays.asList(
+                performHttpGet("/api/v1/bet/matches/" + match.getId(), getDefaultAttrs(), MarketsByCategory[].class));
 
         Set<String> categories = Set.of("Match Winner", "Winner. Map 1", "Winner. Map 2",
                 "Total Maps", "Total. Map 1", "Total. Map 2", "Total. Map 3", "Handicap Maps");
@@ -88,4 +88,18 @@ public class MatchTest extends GenericBetTest {
 
     }
 
+    @Test(description = "Match cache key patterns match keys written by a warm read")
+    void matchCacheKeyPatterns() throws Exception {
+        authorizeAdmin();
+
+        Match match = addMatch(getAttrsWithAuthorization(true));
+        performHttpGet("/api/v1/bet/matches", getDefaultAttrs());
+        performHttpGet("/api/v1/bet/matches/" + match.getId(), getDefaultAttrs());
+
+        // The patterns in configuration.json mirror the bet service cache names, a rename there leaves tests reading stale entries
+        long[] unlinked = invalidateMatchCaches(match.getId());
+        assertTrue("No Redis key matched the matches pattern after GET /api/v1/bet/matches", unlinked[0] > 0);
+        assertTrue("No Redis key matched the match or markets pattern after GET /api/v1/bet/matches/" + match.getId(),
+                unlinked[1] > 0);
+    }
 }
@@ -0,0 +1,118 @@
+package com.vcasino.tests.services.bet;
+
+import com.vcasino.tests.common.Service;
+import com.vcasino.tests.common.config.RedisConfig;
+import com.vcasino.tests.common.redis.RedisCacheInvalidator;
+import com.vcasino.tests.common.redis.RedisMemoryProfiler;
+import com.vcasino.tests.common.redis.RedisRegistry;
+import com.vcasino.tests.services.bet.model.Match;
+import com.vcasino.tests.services.bet.model.Tournament;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+@Slf4j
+public class RedisMemoryProfileTest extends GenericBetTest {
+
+    private static final int WARM_BATCH = 200;
+
+    @BeforeTest(alwaysRun = true)
+    void setup() {
+        init(Service.BET);
+    }
+
+    @Test(description = "Redis memory profile measures a freshly written key")
+    void profileMeasuresWrittenKey() {
+        byte[] key = "it:profile:probe".getBytes(StandardCharsets.UTF_8);
+        try (RedisConnection connection = RedisRegistry.getConnection(config.getRedisConfig())) {
+            connection.stringCommands().set(key, "x".repeat(100).getBytes(StandardCharsets.UTF_8));
+            try {
+                Map<String, RedisMemoryProfiler.PrefixStats> profile = RedisMemoryProfiler.profile(config.getRedisConfig(), "it:profile:*");
+                RedisMemoryProfiler.PrefixStats stats = profile.get("it:profile:probe");
+                assertNotNull(stats);
+                assertEquals(1, stats.getKeys());
+                assertTrue(stats.getEstimatedBytes() > 0);
+            } finally {
+                connection.keyCommands().unlink(key);
+            }
+        }
+    }
+
+    @Test(groups = "benchmark", description = "Redis memory per key prefix as the number of cached matches grows")
+    void memoryGrowth() throws Exception {
+        int[] steps = Arrays.stream(System.getProperty("vcasino.bench.profileMatches", "10,100,1000").split(","))
+                .mapToInt(step -> Integer.parseInt(step.trim()))
+                .toArray();
+        int matchesPerTournament = Integer.getInteger("vcasino.bench.matchesPerTournament", 10);
+        List<String> patterns = profilePatterns();
+
+        authorizeAdmin();
+        var adminAttrs = getAttrsWithAuthorization(true);
+
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%9s %9s %14s %14s%n", "Matches", "Keys", "Bytes", "Bytes/match"));
+
+        List<Match> matches = new ArrayList<>();
+        Tournament tournament = null;
+        for (int target : steps) {
+            List<Match> added = new ArrayList<>();
+            while (matches.size() < target) {
+                if (tournament == null || matches.size() % matchesPerTournament == 0) {
+                    tournament = addTournament(adminAttrs, 200);
+                }
+                Match match = addMatch(tournament, addParticipant(adminAttrs, 200), addParticipant(adminAttrs, 200), adminAttrs, 200);
+                matches.add(match);
+                added.add(match);
+            }
+            warmCaches(added);
+
+            Map<String, RedisMemoryProfiler.PrefixStats> profile = RedisMemoryProfiler.profile(config.getRedisConfig(), patterns);
+            RedisMemoryProfiler.logReport("with " + matches.size() + " matches", profile);
+
+            long keys = profile.values().stream().mapToLong(RedisMemoryProfiler.PrefixStats::getKeys).sum();
+            long bytes = profile.values().stream().mapToLong(RedisMemoryProfiler.PrefixStats::getEstimatedBytes).sum();
+            summary.append(String.format("%9d %9d %14d %14d%n", matches.size(), keys, bytes, bytes / matches.size()));
+        }
+
+        // Flat bytes/match means per-match caching scales linearly, growth means some key holds every match
+        log.info("Redis memory growth:\n{}", summary);
+    }
+
+    // Bet cache namespaces by default, a plain "*" would scan every key on the shared instance
+    private List<String> profilePatterns() {
+        String patterns = System.getProperty("vcasino.redis.profilePattern");
+        if (patterns != null) {
+            return Arrays.stream(patterns.split(",")).map(String::trim).toList();
+        }
+        RedisConfig redisConfig = config.getRedisConfig();
+        assertNotNull("No Redis key patterns configured for the bet service", redisConfig.getKeyPatterns());
+        return redisConfig.getKeyPatterns().keySet().stream()
+                .map(namespace -> RedisCacheInvalidator.pattern(redisConfig, namespace, "*"))
+                .toList();
+    }
+
+    // Populates the list cache and the market cache of every new match
+    private void warmCaches(List<Match> added) throws Exception {
+        performHttpGet("/api/v1/bet/matches", getDefaultAttrs());
+
+        for (int from = 0; from < added.size(); from += WARM_BATCH) {
+            List<CompletableFuture<String>> reads = new ArrayList<>();
+            for (Match match : added.subList(from, Math.min(from + WARM_BATCH, added.size()))) {
+                reads.add(performHttpGetAsync("/api/v1/bet/matches/" + match.getId(), getDefaultAttrs()));
+            }
+            joinAll(reads);
+        }
+    }
+}
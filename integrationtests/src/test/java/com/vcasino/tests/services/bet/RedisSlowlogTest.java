@@ -0,0 +1,44 @@
+package com.vcasino.tests.services.bet;
+
+import com.vcasino.tests.common.Service;
+import com.vcasino.tests.common.redis.RedisLoadSampler;
+import com.vcasino.tests.common.redis.RedisRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Properties;
+
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+@Slf4j
+public class RedisSlowlogTest extends GenericBetTest {
+
+    @BeforeTest(alwaysRun = true)
+    void setup() {
+        init(Service.BET);
+    }
+
+    @Test(description = "Slowlog entries sampled during load runs parse from the Redis reply")
+    void slowlogEntriesParse() {
+        try (RedisConnection connection = RedisRegistry.getConnection(config.getRedisConfig())) {
+            Properties previous = connection.serverCommands().getConfig("slowlog-log-slower-than");
+            // Log every command so the probe below is guaranteed an entry
+            connection.serverCommands().setConfig("slowlog-log-slower-than", "0");
+            try {
+                connection.keyCommands().exists("it:slowlog:probe".getBytes(StandardCharsets.UTF_8));
+
+                List<RedisLoadSampler.SlowCommand> slowCommands = RedisLoadSampler.slowlog(config.getRedisConfig(), 16);
+                assertFalse(slowCommands.isEmpty());
+                assertTrue(slowCommands.stream().anyMatch(slowCommand -> slowCommand.getCommand().startsWith("EXISTS")
+                        && slowCommand.getUnixSeconds() > 0 && slowCommand.getMicros() >= 0));
+            } finally {
+                previous.forEach((key, value) -> connection.serverCommands().setConfig(key.toString(), value.toString()));
+            }
+        }
+    }
+}
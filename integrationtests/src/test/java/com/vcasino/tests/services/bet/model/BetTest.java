@@ -12,9 +12,11 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertTrue;
@@ -36,9 +38,9 @@ public class BetTest extends GenericBetTest {
 
         Match match = addMatch(getAttrsWithAuthorization(true));
 
-        redisFlushCache();
-        String s = performHttpGet("/api/v1/bet/matches/" + match.getId(), getDefaultAttrs());
-        List<MarketsByCategory> marketsByCategory = Arrays.asList(fromJson(s, MarketsByCategory[].class));
+        invalidateMatchCaches(match.getId());
+        List<MarketsByCategory> marketsByCategory = Arrays.asList(
+                performHttpGet("/api/v1/bet/matches/" + match.getId(), getDefaultAttrs(), MarketsByCategory[].class));
 
         List<MarketDto> markets = marketsByCategory.stream()
                 .flatMap(item -> item.getMarketPairs().stream())
@@ -46,7 +48,7 @@ public class BetTest extends GenericBetTest {
                 .toList();
 
         var authAttrs = getAttrsWithAuthorization();
-        double finalBalance = 0;
+        List<CompletableFuture<String>> bets = new ArrayList<>();
         for (MarketDto market : markets) {
             String body = objToJson(Map.of(
                     "marketId", market.getId().toString(),
@@ -55,11 +57,17 @@ public class BetTest extends GenericBetTest {
                     "acceptAllOddsChanges", "true"
             ));
 
-            Response response = jsonToObject(performHttpPost("/api/v1/bet/place", body, authAttrs));
+            bets.add(performHttpPostAsync("/api/v1/bet/place", body, authAttrs));
+        }
+
+        for (String res : joinAll(bets)) {
+            Response response = jsonToObject(res);
             assertTrue(response.getBoolean("betPlaced"));
-            finalBalance = response.getDouble("updatedBalance");
         }
 
+        // Bets complete in any order, so the final balance is read back instead of taken from a response
+        BigDecimal finalBalance = getBalance(userId);
+
 
         log.info("""
                 Initial Balance:   1000
@@ -67,7 +75,7 @@ public class BetTest extends GenericBetTest {
                 Final balance:     {}
                 """, markets.size(), finalBalance);
 
-        assertEquals(1000 - markets.size(), (int) finalBalance);
+        assertEquals(0, BigDecimal.valueOf(1000 - markets.size()).compareTo(finalBalance));
     }
 
     @Test(description = "Get bet history")
@@ -79,9 +87,9 @@ public class BetTest extends GenericBetTest {
 
         Match match = addMatch(getAttrsWithAuthorization(true));
 
-        redisFlushCache();
-        String s = performHttpGet("/api/v1/bet/matches/" + match.getId(), getDefaultAttrs());
-        List<MarketsByCategory> marketsByCategory = Arrays.asList(fromJson(s, MarketsByCategory[].class));
+        invalidateMatchCaches(match.getId());
+        List<MarketsByCategory> marketsByCategory = Arrays.asList(
+                performHttpGet("/api/v1/bet/matches/" + match.getId(), getDefaultAttrs(), MarketsByCategory[].class));
 
         List<MarketDto> markets = marketsByCategory.getFirst().getMarketPairs().getFirst().getMarkets();
 
@@ -114,9 +122,9 @@ public class BetTest extends GenericBetTest {
 
         Match match = addMatch(adminAttrs);
 
-        redisFlushCache();
-        String s = performHttpGet("/api/v1/bet/matches/" + match.getId(), getDefaultAttrs());
-        List<MarketsByCategory> marketsByCategory = Arrays.asList(fromJson(s, MarketsByCategory[].class));
+        invalidateMatchCaches(match.getId());
+        List<MarketsByCategory> marketsByCategory = Arrays.asList(
+                performHttpGet("/api/v1/bet/matches/" + match.getId(), getDefaultAttrs(), MarketsByCategory[].class));
 
         List<MarketDto> markets = marketsByCategory.stream()
                 .flatMap(item -> item.getMarketPairs().stream())
@@ -157,8 +165,8 @@ public class BetTest extends GenericBetTest {
     }
 
     private BigDecimal getBalance(Long userId) {
-        String query = "SELECT balance FROM wallet w WHERE w.id = " + userId;
-        List<Row> res = executeQuery(query, "wallet");
+        String query = "SELECT balance FROM wallet w WHERE w.id = ?";
+        List<Row> res = executeQueryIn("wallet", query, userId);
         Assert.assertEquals(res.size(), 1);
 
         Row row = res.getFirst();
@@ -167,7 +175,7 @@ public class BetTest extends GenericBetTest {
 
     private void addBalanceToWallet(BigDecimal amount, Long userId) {
         log.info("Add {} VDollars to Wallet balance", amount);
-        String query = "UPDATE wallet SET balance = %s WHERE id = %s".formatted(amount, userId);
-        executeUpdate(query, "wallet");
+        String query = "UPDATE wallet SET balance = ? WHERE id = ?";
+        executeUpdateIn("wallet", query, amount, userId);
     }
 }
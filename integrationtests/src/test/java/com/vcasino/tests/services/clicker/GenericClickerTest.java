@@ -42,10 +42,18 @@ public abstract class GenericClickerTest extends GenericTest {
         performHttpPost("/api/v1/clicker/admin/accounts/improve", body, attrs);
     }
 
+    protected Account sendTapRequest(Integer amount, Integer availableTaps, Long timestamp) throws Exception {
+        log.info("Send tap request");
+        String body = "{\"amount\": %s,\"availableTaps\": %s,\"timestamp\": %s}"
+                .formatted(amount, availableTaps, timestamp);
+        String res = performHttpPost(buildUrl("/tap"), body, getAttrsWithAuthorization(), 200);
+        return fromJson(res, Account.class);
+    }
+
     protected Row getAccountFromDatabase() {
         assertNotNull(accountId, "accountId is null");
-        String query = "SELECT * FROM account a WHERE a.id = " + accountId;
-        List<Row> res = executeQuery(query);
+        String query = "SELECT * FROM account a WHERE a.id = ?";
+        List<Row> res = executeQuery(query, accountId);
         assertEquals(res.size(), 1);
         return res.getFirst();
     }
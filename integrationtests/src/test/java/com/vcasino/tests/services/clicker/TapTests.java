@@ -155,12 +155,4 @@ public class TapTests extends GenericClickerTest {
         assertEquals(ts, row.getTimestamp("last_sync_date"));
     }
 
-    private Account sendTapRequest(Integer amount, Integer availableTaps, Long timestamp) throws Exception {
-        log.info("Send tap request");
-        String body = "{\"amount\": %s,\"availableTaps\": %s,\"timestamp\": %s}"
-                .formatted(amount, availableTaps, timestamp);
-        String res = performHttpPost(buildUrl("/tap"), body, getAttrsWithAuthorization(), 200);
-        return fromJson(res, Account.class);
-    }
-
 }
@@ -354,8 +354,8 @@ public class TasksTest extends GenericClickerTest {
     }
 
     private int getTaskIdByName(String taskName) {
-        String query = "SELECT t.id FROM task t WHERE t.name = '%s'".formatted(taskName);
-        List<Row> rows = executeQuery(query);
+        String query = "SELECT t.id FROM task t WHERE t.name = ?";
+        List<Row> rows = executeQuery(query, taskName);
         assertEquals(rows.size(), 1);
         return rows.getFirst().getInt("id");
     }
@@ -139,6 +139,7 @@ public class UpgradeTests extends GenericClickerTest {
 
             log.info("Found {} upgrades to update", toBuy.size());
 
+            // Purchases share one balance and depend on each other's levels, so they stay sequential
             for (Upgrade upgrade : toBuy) {
                 String body = "{\"upgradeName\":\"%s\"}".formatted(upgrade.getName());
 
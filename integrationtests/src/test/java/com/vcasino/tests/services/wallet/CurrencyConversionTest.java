@@ -2,7 +2,7 @@ package com.vcasino.tests.services.wallet;
 
 import com.vcasino.tests.common.Service;
 import com.vcasino.tests.model.Response;
-import com.vcasino.tests.services.clicker.model.Account;
+import com.vcasino.tests.services.wallet.model.ConversionResponse;
 import com.vcasino.tests.services.wallet.model.CurrencyConversionPayload;
 import com.vcasino.tests.services.wallet.model.OutboxEvent;
 import com.vcasino.tests.services.wallet.model.Wallet;
@@ -17,9 +17,11 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNotNull;
@@ -58,16 +60,18 @@ public class CurrencyConversionTest extends GenericWalletTest {
 
         addCoinsToClickerAccount(convertTotalVCoins);
 
-        Account account = null;
+        List<CompletableFuture<String>> conversions = new ArrayList<>();
         for (BigDecimal coins : randomValues) {
             String body = objToJson(Map.of("amount", coins.toString()));
-            String s = performHttpPost(VCOINS_TO_VDOLLARS_URL, body, getAttrsWithAuthorization());
-            account = fromJson(s, Account.class);
+            conversions.add(performHttpPostAsync(VCOINS_TO_VDOLLARS_URL, body, getAttrsWithAuthorization()));
         }
 
+        joinAll(conversions);
+
         sleep(5000);
 
-        assertEquals(0, expectedAccountBalance.compareTo(account.getBalanceCoins()));
+        // Conversions complete in any order, so balances are read back instead of taken from a response
+        assertEquals(0, expectedAccountBalance.compareTo(getClickerBalanceFromDatabase()));
 
         Wallet walletFromDatabase = getWalletFromDatabase();
         assertEquals(0, expectedWalletBalance.compareTo(walletFromDatabase.getBalance()));
@@ -136,22 +140,21 @@ public class CurrencyConversionTest extends GenericWalletTest {
 
         addBalanceToWallet(convertTotalVDollars);
 
-        Account account = null;
-        BigDecimal updatedWalletBalance = BigDecimal.ZERO;
+        List<CompletableFuture<String>> conversions = new ArrayList<>();
         for (BigDecimal coins : randomValues) {
             String body = objToJson(Map.of("amount", coins.toString()));
-            Response res = jsonToObject(performHttpPost(VDOLLARS_TO_VCOINS_URL, body, getAttrsWithAuthorization()));
-            account = res.get("account", Account.class);
-            updatedWalletBalance = res.get("updatedWalletBalance", BigDecimal.class);
+            conversions.add(performHttpPostAsync(VDOLLARS_TO_VCOINS_URL, body, getAttrsWithAuthorization()));
         }
 
+        joinAll(conversions);
+
         sleep(5000);
 
-        assertEquals(0, expectedAccountBalance.compareTo(account.getBalanceCoins()));
+        // Conversions complete in any order, so balances are read back instead of taken from a response
+        assertEquals(0, expectedAccountBalance.compareTo(getClickerBalanceFromDatabase()));
 
         Wallet walletFromDatabase = getWalletFromDatabase();
         assertEquals(0, expectedWalletBalance.compareTo(walletFromDatabase.getBalance()));
-        assertEquals(0, expectedWalletBalance.compareTo(updatedWalletBalance));
 
         List<OutboxEvent<CurrencyConversionPayload>> outboxEvents = getEventsFromDatabase(walletId, CurrencyConversionPayload.class);
         assertEquals(5, outboxEvents.size());
@@ -172,6 +175,31 @@ public class CurrencyConversionTest extends GenericWalletTest {
         assertEquals(0, totalEventSum.compareTo(convertTotalVDollars));
     }
 
+    @Test(description = "Convert VDollars to VCoins after batched Wallet balance update")
+    void convertVDollarsToVCoinsAfterBatchedBalanceUpdate() throws Exception {
+        Map<Long, BigDecimal> balances = new LinkedHashMap<>();
+        for (int i = 1; i <= 3; i++) {
+            createWallet();
+            balances.put(walletId, new BigDecimal(i * 10).setScale(2, RoundingMode.DOWN));
+        }
+
+        addBalanceToWallets(balances);
+
+        for (Map.Entry<Long, BigDecimal> entry : balances.entrySet()) {
+            walletId = entry.getKey();
+            assertEquals(0, entry.getValue().compareTo(getWalletFromDatabase().getBalance()));
+        }
+
+        // Only the last created user is authenticated, convert its whole batched balance
+        BigDecimal dollars = balances.get(walletId);
+        String body = objToJson(Map.of("amount", dollars.toString()));
+        String res = performHttpPost(VDOLLARS_TO_VCOINS_URL, body, getAttrsWithAuthorization());
+        ConversionResponse conversion = fromJson(res, ConversionResponse.class);
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(conversion.getUpdatedWalletBalance()));
+        assertEquals(0, dollars.multiply(new BigDecimal("90000")).compareTo(conversion.getAccount().getBalanceCoins()));
+    }
+
     private BigDecimal roundToNearestThousand(BigDecimal amount) {
         return amount.divide(new BigDecimal("1000"), 0, RoundingMode.DOWN)
                 .multiply(new BigDecimal("1000"));
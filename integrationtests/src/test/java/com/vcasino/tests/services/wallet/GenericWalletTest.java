@@ -1,6 +1,7 @@
 package com.vcasino.tests.services.wallet;
 
 import com.vcasino.tests.common.GenericTest;
+import com.vcasino.tests.common.Service;
 import com.vcasino.tests.model.AuthenticationResponse;
 import com.vcasino.tests.model.Row;
 import com.vcasino.tests.services.clicker.model.Account;
@@ -10,8 +11,9 @@ import com.vcasino.tests.services.wallet.model.Wallet;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
@@ -38,6 +40,14 @@ public abstract class GenericWalletTest extends GenericTest {
         return fromJson(res, Account.class).getBalanceCoins();
     }
 
+    protected BigDecimal getClickerBalanceFromDatabase() {
+        assertNotNull(walletId, "walletId is null");
+        String query = "SELECT a.balance_coins FROM account a WHERE a.id = ?";
+        List<Row> res = executeQuery(query, getServiceConfig(Service.CLICKER).getDbConfig(), walletId);
+        assertEquals(res.size(), 1);
+        return res.getFirst().getBigDecimal("balance_coins");
+    }
+
     protected void addCoinsToClickerAccount(BigDecimal amount) throws Exception {
         log.info("Add coins to Account");
         authorizeAdmin();
@@ -53,36 +63,38 @@ public abstract class GenericWalletTest extends GenericTest {
         executeUpdate(query);
     }
 
-    protected <T> List<OutboxEvent<T>> getEventsFromDatabase(Long aggregateId, Class<T> payloadClass) throws Exception {
-        assertNotNull(walletId, "walletId is null");
-        String query = "SELECT * FROM outbox_event e WHERE e.aggregate_id = " + aggregateId;
-        List<Row> res = executeQuery(query);
-
-        log.info("Found {} events", res.size());
-
-        T payload = null;
+    protected void addBalanceToWallets(Map<Long, BigDecimal> balances) {
+        log.info("Set balance of {} Wallets", balances.size());
+        List<Object[]> params = balances.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList();
+        executeBatch("UPDATE wallet SET balance = ? WHERE id = ?", params);
+    }
 
+    protected <T> List<OutboxEvent<T>> getEventsFromDatabase(Long aggregateId, Class<T> payloadClass) {
+        assertNotNull(walletId, "walletId is null");
         assertTrue(payloadClass.equals(CurrencyConversionPayload.class));
 
-        List<OutboxEvent<T>> events = new ArrayList<>();
-        for (Row row : res) {
-            if (payloadClass.equals(CurrencyConversionPayload.class)) {
-                payload = fromJson(row.get("payload"), payloadClass);
-            }
-
-            events.add(OutboxEvent.<T>builder()
-                    .id(row.getUUID("id"))
-                    .aggregateId(row.getLong("aggregate_id"))
-                    .type(row.get("type"))
-                    .payload(payload)
-                    .status(row.get("status"))
-                    .applicant(row.get("applicant"))
-                    .createdAt(row.getInstant("created_at"))
-                    .modifiedAt(row.getInstant("modified_at"))
-                    .version(row.getInt("version"))
-                    .build());
+        // outbox_event grows with every load run, rows are mapped one fetch at a time instead of being buffered
+        String query = "SELECT * FROM outbox_event e WHERE e.aggregate_id = ?";
+        List<OutboxEvent<T>> events;
+        try (Stream<Row> rows = streamQuery(query, aggregateId)) {
+            events = rows.map(row -> OutboxEvent.<T>builder()
+                            .id(row.getUUID("id"))
+                            .aggregateId(row.getLong("aggregate_id"))
+                            .type(row.get("type"))
+                            .payload(fromJson(row.get("payload"), payloadClass))
+                            .status(row.get("status"))
+                            .applicant(row.get("applicant"))
+                            .createdAt(row.getInstant("created_at"))
+                            .modifiedAt(row.getInstant("modified_at"))
+                            .version(row.getInt("version"))
+                            .build())
+                    .toList();
         }
 
+        log.info("Found {} events", events.size());
+
         return events;
     }
 
@@ -0,0 +1,40 @@
+package com.vcasino.tests.services.wallet;
+
+import com.vcasino.tests.common.Service;
+import com.vcasino.tests.model.Row;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+
+@Slf4j
+public class OutboxStreamTest extends GenericWalletTest {
+
+    @BeforeTest
+    void setup() {
+        init(Service.WALLET);
+    }
+
+    @Test(description = "Streamed query returns every row in order across several fetches")
+    void streamQuerySpansFetches() {
+        int count = FETCH_SIZE * 2 + 1;
+
+        try (Stream<Row> rows = streamQuery("SELECT n FROM generate_series(1, ?) AS n", count)) {
+            Iterator<Row> iterator = rows.iterator();
+            for (int expected = 1; expected <= count; expected++) {
+                assertEquals(expected, (int) iterator.next().getInt("n"));
+            }
+            assertFalse(iterator.hasNext());
+        }
+
+        // Closing the cursor ended its transaction, the pooled connection still runs plain queries
+        List<Row> res = executeQuery("SELECT 1 AS one");
+        assertEquals(1, res.size());
+    }
+}
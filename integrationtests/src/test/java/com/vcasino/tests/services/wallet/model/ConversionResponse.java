@@ -0,0 +1,17 @@
+package com.vcasino.tests.services.wallet.model;
+
+import com.vcasino.tests.services.clicker.model.Account;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ConversionResponse {
+    Account account;
+    BigDecimal updatedWalletBalance;
+}